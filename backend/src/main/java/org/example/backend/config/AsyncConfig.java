@@ -1,5 +1,6 @@
 package org.example.backend.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -21,4 +22,50 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    @Bean(name = "registrationExecutor")
+    public Executor registrationExecutor(@Value("${registration.admission.workers:4}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(Integer.MAX_VALUE);
+        executor.setThreadNamePrefix("Registration-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "screeningExecutor")
+    public Executor screeningExecutor(@Value("${ai.screening.concurrency:4}") int concurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        // Jobs wait in the screening_jobs table, the dispatcher never hands over more than there are workers
+        executor.setQueueCapacity(concurrency);
+        executor.setThreadNamePrefix("Screening-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "batchScreeningExecutor")
+    public Executor batchScreeningExecutor(@Value("${ai.screening.batch.workers:1}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        // At most one queued run per semester, see BatchScreeningService
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("BatchScreening-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "slotStreamExecutor")
+    public Executor slotStreamExecutor(@Value("${topic.slots.stream.send-workers:4}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(10000);
+        executor.setThreadNamePrefix("SlotStream-");
+        executor.initialize();
+        return executor;
+    }
 }
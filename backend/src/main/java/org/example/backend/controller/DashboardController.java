@@ -0,0 +1,24 @@
+package org.example.backend.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.backend.service.AuthService;
+import org.example.backend.service.SupervisorDashboardService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class DashboardController {
+
+    private final SupervisorDashboardService supervisorDashboardService;
+    private final AuthService authService;
+
+    @GetMapping("/supervisor/{supervisorId}")
+    public ResponseEntity<?> getSupervisorDashboard(@PathVariable Long supervisorId) {
+        return authService.findById(supervisorId)
+                .<ResponseEntity<?>>map(user -> ResponseEntity.ok(supervisorDashboardService.getDashboard(supervisorId)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
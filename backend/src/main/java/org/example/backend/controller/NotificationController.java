@@ -26,6 +26,18 @@ public class NotificationController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/user/{userId}/feed")
+    public ResponseEntity<?> getFeed(@PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "false") boolean unreadOnly) {
+        try {
+            return ResponseEntity.ok(notificationService.getFeed(userId, cursor, limit, unreadOnly));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/user/{userId}/unread")
     public ResponseEntity<?> getUnreadByUser(@PathVariable Long userId) {
         return authService.findById(userId)
@@ -35,9 +47,7 @@ public class NotificationController {
 
     @GetMapping("/user/{userId}/unread-count")
     public ResponseEntity<?> getUnreadCount(@PathVariable Long userId) {
-        return authService.findById(userId)
-                .map(user -> ResponseEntity.ok(Map.of("count", notificationService.countUnread(user))))
-                .orElse(ResponseEntity.notFound().build());
+        return ResponseEntity.ok(Map.of("count", notificationService.countUnread(userId)));
     }
 
     @PutMapping("/{id}/read")
@@ -1,15 +1,21 @@
 package org.example.backend.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.RegistrationResponse;
 import org.example.backend.entity.Registration;
 import org.example.backend.entity.Team;
 import org.example.backend.entity.User;
+import org.example.backend.exception.RegistrationQueueFullException;
 import org.example.backend.service.AuthService;
+import org.example.backend.service.RegistrationAdmissionQueue;
 import org.example.backend.service.RegistrationService;
 import org.example.backend.service.TeamService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -21,6 +27,7 @@ public class RegistrationController {
     private final RegistrationService registrationService;
     private final TeamService teamService;
     private final AuthService authService;
+    private final RegistrationAdmissionQueue admissionQueue;
 
     @PostMapping
     public ResponseEntity<?> register(@RequestBody Map<String, Long> request) {
@@ -31,18 +38,42 @@ public class RegistrationController {
             Team team = teamService.findById(teamId)
                     .orElseThrow(() -> new RuntimeException("Team not found"));
 
+            // Burst mode: hand out a ticket, the outcome is polled via /tickets/{ticketId}
+            if (admissionQueue.isEnabled()) {
+                RegistrationAdmissionQueue.Ticket ticket = admissionQueue.submit(team, topicId);
+                return ResponseEntity.accepted().body(Map.of(
+                        "message", "Registration queued",
+                        "ticket", ticket));
+            }
+
             Registration registration = registrationService.register(team, topicId);
             return ResponseEntity.ok(Map.of(
                     "message", "Registration submitted successfully",
-                    "registration", registration));
+                    "registration", RegistrationResponse.from(registration)));
+        } catch (RegistrationQueueFullException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
+    /**
+     * Only members of the ticket's team see it; other callers get 404, like an unknown ticket
+     */
+    @GetMapping("/tickets/{ticketId}")
+    public ResponseEntity<?> getTicket(@PathVariable Long ticketId, @RequestParam Long userId) {
+        return admissionQueue.findTicket(ticketId)
+                .filter(ticket -> teamService.isMember(ticket.getTeamId(), userId))
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getById(@PathVariable Long id) {
         return registrationService.findById(id)
+                .map(RegistrationResponse::from)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -50,21 +81,22 @@ public class RegistrationController {
     @GetMapping("/team/{teamId}")
     public ResponseEntity<?> getByTeam(@PathVariable Long teamId) {
         return teamService.findById(teamId)
-                .map(team -> ResponseEntity.ok(registrationService.findByTeam(team)))
+                .map(team -> ResponseEntity.ok(toResponses(registrationService.findByTeam(team))))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/supervisor/{supervisorId}")
     public ResponseEntity<?> getBySupervisor(@PathVariable Long supervisorId) {
         return authService.findById(supervisorId)
-                .map(supervisor -> ResponseEntity.ok(registrationService.findBySupervisor(supervisor)))
+                .map(supervisor -> ResponseEntity.ok(toResponses(registrationService.findBySupervisor(supervisor))))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/supervisor/{supervisorId}/pending")
     public ResponseEntity<?> getPendingBySupervisor(@PathVariable Long supervisorId) {
         return authService.findById(supervisorId)
-                .map(supervisor -> ResponseEntity.ok(registrationService.findPendingBySupervisor(supervisor)))
+                .map(supervisor -> ResponseEntity.ok(
+                        toResponses(registrationService.findPendingBySupervisor(supervisor))))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -78,7 +110,7 @@ public class RegistrationController {
             Registration registration = registrationService.approve(id, supervisor);
             return ResponseEntity.ok(Map.of(
                     "message", "Registration approved",
-                    "registration", registration));
+                    "registration", RegistrationResponse.from(registration)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -96,7 +128,7 @@ public class RegistrationController {
             Registration registration = registrationService.reject(id, supervisor, reason);
             return ResponseEntity.ok(Map.of(
                     "message", "Registration rejected",
-                    "registration", registration));
+                    "registration", RegistrationResponse.from(registration)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -108,7 +140,7 @@ public class RegistrationController {
             Registration registration = registrationService.finalize(id);
             return ResponseEntity.ok(Map.of(
                     "message", "Registration finalized",
-                    "registration", registration));
+                    "registration", RegistrationResponse.from(registration)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -123,4 +155,8 @@ public class RegistrationController {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
+
+    private static List<RegistrationResponse> toResponses(List<Registration> registrations) {
+        return registrations.stream().map(RegistrationResponse::from).toList();
+    }
 }
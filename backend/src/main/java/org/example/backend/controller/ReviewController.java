@@ -1,6 +1,7 @@
 package org.example.backend.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.ReviewResponse;
 import org.example.backend.entity.Review;
 import org.example.backend.entity.Topic;
 import org.example.backend.enums.ReviewDecision;
@@ -27,20 +28,21 @@ public class ReviewController {
     @GetMapping("/assigned/{reviewerId}")
     public ResponseEntity<?> getAssignedReviews(@PathVariable Long reviewerId) {
         return authService.findById(reviewerId)
-                .map(reviewer -> ResponseEntity.ok(reviewService.findPendingByReviewer(reviewer)))
+                .map(reviewer -> ResponseEntity.ok(toResponses(reviewService.findPendingByReviewer(reviewer))))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/topic/{topicId}")
     public ResponseEntity<?> getReviewsByTopic(@PathVariable Long topicId) {
         return topicService.findById(topicId)
-                .map(topic -> ResponseEntity.ok(reviewService.findByTopic(topic)))
+                .map(topic -> ResponseEntity.ok(toResponses(reviewService.findByTopic(topic))))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<?> getById(@PathVariable Long id) {
         return reviewService.findById(id)
+                .map(ReviewResponse::from)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -53,7 +55,7 @@ public class ReviewController {
             List<Review> reviews = reviewService.assignReviewers(topicId, numberOfReviewers);
             return ResponseEntity.ok(Map.of(
                     "message", "Reviewers assigned successfully",
-                    "reviews", reviews));
+                    "reviews", toResponses(reviews)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -67,7 +69,7 @@ public class ReviewController {
             String comment = request.get("comment");
 
             Review review = reviewService.submitReview(reviewId, decision, comment);
-            return ResponseEntity.ok(review);
+            return ResponseEntity.ok(ReviewResponse.from(review));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -98,4 +100,8 @@ public class ReviewController {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
+
+    private static List<ReviewResponse> toResponses(List<Review> reviews) {
+        return reviews.stream().map(ReviewResponse::from).toList();
+    }
 }
@@ -2,6 +2,7 @@ package org.example.backend.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.example.backend.entity.Semester;
+import org.example.backend.service.SemesterAnalyticsService;
 import org.example.backend.service.SemesterService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,6 +19,7 @@ import java.util.Map;
 public class SemesterController {
 
     private final SemesterService semesterService;
+    private final SemesterAnalyticsService semesterAnalyticsService;
 
     @PostMapping
     public ResponseEntity<?> create(@RequestBody Map<String, String> request) {
@@ -89,6 +91,23 @@ public class SemesterController {
         }
     }
 
+    /**
+     * Live statistics of the semester, served from in-memory counters
+     */
+    @GetMapping("/{id}/analytics")
+    public ResponseEntity<?> getAnalytics(@PathVariable Long id) {
+        return semesterService.findById(id)
+                .map(semester -> ResponseEntity.ok(semesterAnalyticsService.get(id)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{id}/analytics/rebuild")
+    public ResponseEntity<?> rebuildAnalytics(@PathVariable Long id) {
+        return semesterService.findById(id)
+                .map(semester -> ResponseEntity.ok(semesterAnalyticsService.rebuild(id)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<?> delete(@PathVariable Long id) {
         try {
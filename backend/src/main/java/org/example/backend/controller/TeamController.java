@@ -33,7 +33,7 @@ public class TeamController {
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
             Team team = teamService.create(leader, semesterId, name);
-            return ResponseEntity.ok(team);
+            return ResponseEntity.ok(teamService.toResponse(team));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -42,13 +42,14 @@ public class TeamController {
     @GetMapping
     public ResponseEntity<?> getAllForActiveSemester() {
         return semesterService.getActiveSemester()
-                .map(semester -> ResponseEntity.ok(teamService.findBySemester(semester)))
+                .map(semester -> ResponseEntity.ok(teamService.getTeamsBySemester(semester)))
                 .orElse(ResponseEntity.ok(List.of()));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<?> getById(@PathVariable Long id) {
         return teamService.findById(id)
+                .map(teamService::toResponse)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -56,6 +57,7 @@ public class TeamController {
     @GetMapping("/invite/{inviteCode}")
     public ResponseEntity<?> getByInviteCode(@PathVariable String inviteCode) {
         return teamService.findByInviteCode(inviteCode)
+                .map(teamService::toResponse)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -65,6 +67,7 @@ public class TeamController {
         return authService.findById(userId)
                 .flatMap(user -> semesterService.getActiveSemester()
                         .flatMap(semester -> teamService.findByUserAndSemester(user, semester)))
+                .map(teamService::toResponse)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -81,7 +84,7 @@ public class TeamController {
             Team team = teamService.joinByInviteCode(user, inviteCode);
             return ResponseEntity.ok(Map.of(
                     "message", "Successfully joined team",
-                    "team", team));
+                    "team", teamService.toResponse(team)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -129,7 +132,7 @@ public class TeamController {
             Team team = teamService.transferLeadership(teamId, newLeaderId, currentLeader);
             return ResponseEntity.ok(Map.of(
                     "message", "Leadership transferred successfully",
-                    "team", team));
+                    "team", teamService.toResponse(team)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
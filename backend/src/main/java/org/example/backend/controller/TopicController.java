@@ -1,15 +1,27 @@
 package org.example.backend.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.TopicSearchQuery;
+import org.example.backend.dto.TopicSummary;
 import org.example.backend.entity.Topic;
 import org.example.backend.entity.User;
 import org.example.backend.enums.TopicStatus;
-import org.example.backend.service.AIService;
+import org.example.backend.exception.ScreeningQueueFullException;
+import org.example.backend.search.TopicSearchIndex;
 import org.example.backend.service.AuthService;
+import org.example.backend.service.BatchScreeningService;
+import org.example.backend.service.ScreeningJobService;
 import org.example.backend.service.SemesterService;
+import org.example.backend.service.SlotReservationService;
+import org.example.backend.service.TopicCatalogCache;
+import org.example.backend.service.TopicSlotBroadcaster;
 import org.example.backend.service.TopicService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -23,7 +35,12 @@ public class TopicController {
     private final TopicService topicService;
     private final AuthService authService;
     private final SemesterService semesterService;
-    private final AIService aiService;
+    private final ScreeningJobService screeningJobService;
+    private final BatchScreeningService batchScreeningService;
+    private final TopicCatalogCache topicCatalogCache;
+    private final TopicSlotBroadcaster topicSlotBroadcaster;
+    private final TopicSearchIndex topicSearchIndex;
+    private final SlotReservationService slotReservationService;
 
     @PostMapping
     public ResponseEntity<?> create(@RequestBody Map<String, Object> request) {
@@ -52,7 +69,41 @@ public class TopicController {
 
     @GetMapping
     public ResponseEntity<List<Topic>> getAll() {
-        return ResponseEntity.ok(topicService.findByStatus(TopicStatus.PUBLISHED));
+        return ResponseEntity.ok(topicCatalogCache.getPublished());
+    }
+
+    /**
+     * Paginated topic search, e.g. /api/topics/search?semesterId=1&status=PUBLISHED&sortBy=code&direction=asc
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> search(@RequestParam(required = false) Long semesterId,
+            @RequestParam(required = false) TopicStatus status,
+            @RequestParam(required = false) Long supervisorId,
+            @RequestParam(required = false) String majorPrefix,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "false") boolean includeDetails) {
+        try {
+            return ResponseEntity.ok(topicService.search(semesterId, status, supervisorId, majorPrefix,
+                    TopicSearchQuery.SortField.fromParam(sortBy), "asc".equalsIgnoreCase(direction),
+                    includeDetails, cursor, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Ranked keyword search over titles (EN/VI, accents optional), description and requirements
+     */
+    @GetMapping("/search/keyword")
+    public ResponseEntity<?> searchByKeyword(@RequestParam String q,
+            @RequestParam(required = false) Long semesterId,
+            @RequestParam(required = false) TopicStatus status,
+            @RequestParam(defaultValue = "20") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, 100));
+        return ResponseEntity.ok(topicSearchIndex.search(q, semesterId, status, pageSize));
     }
 
     @GetMapping("/{id}")
@@ -72,27 +123,43 @@ public class TopicController {
     @GetMapping("/supervisor/{supervisorId}")
     public ResponseEntity<?> getBySupervisor(@PathVariable Long supervisorId) {
         return authService.findById(supervisorId)
-                .map(supervisor -> ResponseEntity.ok(topicService.findBySupervisor(supervisor)))
+                .map(supervisor -> ResponseEntity.ok(topicService.getTopicsBySupervisor(supervisor)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/semester/{semesterId}")
     public ResponseEntity<?> getBySemester(@PathVariable Long semesterId) {
         return semesterService.findById(semesterId)
-                .map(semester -> ResponseEntity.ok(topicService.findBySemester(semester)))
+                .map(semester -> ResponseEntity.ok(topicService.getTopicsBySemester(semester)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/available")
     public ResponseEntity<?> getAvailableForRegistration() {
         return semesterService.getActiveSemester()
-                .map(semester -> ResponseEntity.ok(topicService.findAvailableForRegistration(semester)))
+                .map(semester -> ResponseEntity.ok(topicCatalogCache.getAvailable(semester.getId())))
                 .orElse(ResponseEntity.ok(List.of()));
     }
 
+    /**
+     * Live slot availability (SSE) instead of polling /available
+     */
+    @GetMapping(value = "/semester/{semesterId}/slots/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSlots(@PathVariable Long semesterId) {
+        return topicSlotBroadcaster.subscribe(semesterId);
+    }
+
+    /**
+     * Recount registered teams from the registrations, for topics whose count drifted
+     */
+    @PostMapping("/slots/resync")
+    public ResponseEntity<?> resyncSlots() {
+        return ResponseEntity.ok(Map.of("resynced", slotReservationService.resyncDrifted()));
+    }
+
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Topic>> getByStatus(@PathVariable TopicStatus status) {
-        return ResponseEntity.ok(topicService.findByStatus(status));
+    public ResponseEntity<List<TopicSummary>> getByStatus(@PathVariable TopicStatus status) {
+        return ResponseEntity.ok(topicService.getTopicsByStatus(status));
     }
 
     @PutMapping("/{id}")
@@ -116,12 +183,13 @@ public class TopicController {
     @PostMapping("/{id}/submit")
     public ResponseEntity<?> submit(@PathVariable Long id) {
         try {
-            Topic topic = topicService.submit(id);
-            // Trigger async AI processing
-            aiService.processTopicAsync(id);
+            // AI processing runs from the screening job queue
+            Topic topic = screeningJobService.submit(id);
             return ResponseEntity.ok(Map.of(
                     "message", "Topic submitted for AI processing",
                     "topic", topic));
+        } catch (ScreeningQueueFullException e) {
+            return screeningQueueFull(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -140,17 +208,36 @@ public class TopicController {
     @PostMapping("/{id}/resubmit")
     public ResponseEntity<?> resubmit(@PathVariable Long id) {
         try {
-            Topic topic = topicService.incrementVersion(id);
-            // Trigger async AI processing for new version
-            aiService.processTopicAsync(id);
+            Topic topic = screeningJobService.resubmit(id);
             return ResponseEntity.ok(Map.of(
                     "message", "Topic resubmitted for AI processing (Version " + topic.getVersion() + ")",
                     "topic", topic));
+        } catch (ScreeningQueueFullException e) {
+            return screeningQueueFull(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
+    /**
+     * Screen all PROCESSING topics of a semester at once (e.g. after the submission deadline)
+     */
+    @PostMapping("/semester/{semesterId}/screen")
+    public ResponseEntity<?> screenSemester(@PathVariable Long semesterId) {
+        try {
+            return ResponseEntity.ok(batchScreeningService.screenSemester(semesterId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}/screening")
+    public ResponseEntity<?> getScreeningJob(@PathVariable Long id) {
+        return screeningJobService.findLatest(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<?> delete(@PathVariable Long id) {
         try {
@@ -160,4 +247,10 @@ public class TopicController {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
+
+    private ResponseEntity<?> screeningQueueFull(ScreeningQueueFullException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "60")
+                .body(Map.of("error", e.getMessage()));
+    }
 }
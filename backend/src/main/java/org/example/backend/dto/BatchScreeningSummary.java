@@ -0,0 +1,10 @@
+package org.example.backend.dto;
+
+public record BatchScreeningSummary(
+        Long semesterId,
+        int screened,
+        int passed,
+        int failed,
+        int assignedForReview,
+        long durationMs) {
+}
@@ -0,0 +1,9 @@
+package org.example.backend.dto;
+
+import java.util.List;
+
+/**
+ * One page of a user's notification feed; pass nextCursor back to get the next page
+ */
+public record NotificationFeedPage(List<NotificationResponse> items, String nextCursor) {
+}
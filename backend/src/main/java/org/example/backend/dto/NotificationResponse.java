@@ -0,0 +1,13 @@
+package org.example.backend.dto;
+
+import java.time.LocalDateTime;
+
+public record NotificationResponse(
+        Long id,
+        String title,
+        String message,
+        String link,
+        Boolean isRead,
+        LocalDateTime createdAt,
+        LocalDateTime readAt) {
+}
@@ -0,0 +1,33 @@
+package org.example.backend.dto;
+
+import org.example.backend.entity.Registration;
+import org.example.backend.enums.RegistrationStatus;
+
+import java.time.LocalDateTime;
+
+public record RegistrationResponse(
+        Long id,
+        Long teamId,
+        String teamName,
+        Long topicId,
+        String topicCode,
+        String topicTitleEn,
+        String topicTitleVi,
+        RegistrationStatus status,
+        String rejectReason,
+        Long admissionSequence,
+        LocalDateTime registeredAt,
+        LocalDateTime approvedAt,
+        LocalDateTime rejectedAt) {
+
+    /**
+     * Reads the team and topic; list queries fetch them together with the registration
+     */
+    public static RegistrationResponse from(Registration registration) {
+        return new RegistrationResponse(registration.getId(), registration.getTeam().getId(),
+                registration.getTeam().getName(), registration.getTopic().getId(), registration.getTopic().getCode(),
+                registration.getTopic().getTitleEn(), registration.getTopic().getTitleVi(), registration.getStatus(),
+                registration.getRejectReason(), registration.getAdmissionSequence(), registration.getRegisteredAt(),
+                registration.getApprovedAt(), registration.getRejectedAt());
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.backend.dto;
+
+import org.example.backend.entity.Review;
+import org.example.backend.enums.ReviewDecision;
+import org.example.backend.enums.TopicStatus;
+
+import java.time.LocalDateTime;
+
+public record ReviewResponse(
+        Long id,
+        Long topicId,
+        String topicCode,
+        String topicTitleEn,
+        String topicTitleVi,
+        TopicStatus topicStatus,
+        Integer topicVersion,
+        Long reviewerId,
+        String reviewerName,
+        ReviewDecision decision,
+        String comment,
+        LocalDateTime assignedAt,
+        LocalDateTime reviewedAt) {
+
+    /**
+     * Reads the topic and reviewer; list queries fetch them together with the review
+     */
+    public static ReviewResponse from(Review review) {
+        return new ReviewResponse(review.getId(), review.getTopic().getId(), review.getTopic().getCode(),
+                review.getTopic().getTitleEn(), review.getTopic().getTitleVi(), review.getTopic().getStatus(),
+                review.getTopicVersion(), review.getReviewer().getId(), review.getReviewer().getFullName(),
+                review.getDecision(), review.getComment(), review.getAssignedAt(), review.getReviewedAt());
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.backend.dto;
+
+public record ReviewTallyCounts(
+        int assigned,
+        int approved,
+        int rejected,
+        int decided) {
+}
@@ -0,0 +1,13 @@
+package org.example.backend.dto;
+
+/**
+ * AI screening outcome of one topic, written back in bulk by batch screening
+ */
+public record ScreeningResult(
+        Long topicId,
+        boolean compliancePass,
+        String complianceFeedback,
+        double similarityScore,
+        String similarityDetails,
+        int[] signature) {
+}
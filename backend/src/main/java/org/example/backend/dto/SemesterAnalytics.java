@@ -0,0 +1,25 @@
+package org.example.backend.dto;
+
+import org.example.backend.enums.RegistrationStatus;
+import org.example.backend.enums.TeamStatus;
+import org.example.backend.enums.TopicStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Live statistics of a semester for coordinators.
+ * unregisteredReadyTeams: full teams (READY) without a pending registration.
+ * openReviews: reviewer backlog, assigned reviews without a decision.
+ */
+public record SemesterAnalytics(
+        Long semesterId,
+        Map<TopicStatus, Long> topicsByStatus,
+        Map<TeamStatus, Long> teamsByStatus,
+        Map<RegistrationStatus, Long> registrationsByStatus,
+        long unregisteredReadyTeams,
+        long studentsInTeams,
+        long studentsWithoutTeam,
+        long openReviews,
+        LocalDateTime rebuiltAt) {
+}
@@ -0,0 +1,25 @@
+package org.example.backend.dto;
+
+import org.example.backend.enums.RegistrationStatus;
+import org.example.backend.enums.TopicStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Landing page of a supervisor: counts per status, slot usage of reviewed topics
+ * and the oldest registrations waiting for a decision
+ */
+public record SupervisorDashboard(
+        Long supervisorId,
+        Long semesterId,
+        Map<TopicStatus, Long> topicsByStatus,
+        Map<RegistrationStatus, Long> registrationsByStatus,
+        long totalSlots,
+        long usedSlots,
+        double slotUtilization,
+        List<RegistrationResponse> pendingRegistrations,
+        long unreadNotifications,
+        LocalDateTime generatedAt) {
+}
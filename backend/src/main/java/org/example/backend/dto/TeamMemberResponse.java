@@ -0,0 +1,25 @@
+package org.example.backend.dto;
+
+import org.example.backend.entity.TeamMember;
+import org.example.backend.enums.TeamMemberRole;
+
+import java.time.LocalDateTime;
+
+public record TeamMemberResponse(
+        Long id,
+        Long userId,
+        String fullName,
+        String email,
+        String studentCode,
+        TeamMemberRole role,
+        LocalDateTime joinedAt) {
+
+    /**
+     * The member's user must be loaded
+     */
+    public static TeamMemberResponse from(TeamMember member) {
+        return new TeamMemberResponse(member.getId(), member.getUser().getId(), member.getUser().getFullName(),
+                member.getUser().getEmail(), member.getUser().getStudentCode(), member.getRole(),
+                member.getJoinedAt());
+    }
+}
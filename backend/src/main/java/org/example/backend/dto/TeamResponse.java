@@ -0,0 +1,30 @@
+package org.example.backend.dto;
+
+import org.example.backend.entity.Team;
+import org.example.backend.enums.TeamStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Team with its members; members are passed in since they are loaded with a separate query
+ */
+public record TeamResponse(
+        Long id,
+        String name,
+        String inviteCode,
+        TeamStatus status,
+        Integer memberCount,
+        Long semesterId,
+        Long leaderId,
+        String leaderName,
+        List<TeamMemberResponse> members,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public static TeamResponse from(Team team, List<TeamMemberResponse> members) {
+        return new TeamResponse(team.getId(), team.getName(), team.getInviteCode(), team.getStatus(),
+                team.getMemberCount(), team.getSemester().getId(), team.getLeader().getId(),
+                team.getLeader().getFullName(), members, team.getCreatedAt(), team.getUpdatedAt());
+    }
+}
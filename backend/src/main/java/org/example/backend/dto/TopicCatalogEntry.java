@@ -0,0 +1,18 @@
+package org.example.backend.dto;
+
+import org.example.backend.enums.TopicStatus;
+
+/**
+ * Lightweight catalog row shown to students during registration
+ */
+public record TopicCatalogEntry(
+        Long id,
+        String code,
+        String titleEn,
+        String titleVi,
+        TopicStatus status,
+        Integer maxTeams,
+        Integer remainingSlots,
+        Long supervisorId,
+        String supervisorName) {
+}
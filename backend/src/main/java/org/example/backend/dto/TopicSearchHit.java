@@ -0,0 +1,16 @@
+package org.example.backend.dto;
+
+import org.example.backend.enums.TopicStatus;
+
+/**
+ * Keyword search result, ordered by score (higher is more relevant)
+ */
+public record TopicSearchHit(
+        Long id,
+        String code,
+        String titleEn,
+        String titleVi,
+        TopicStatus status,
+        Long semesterId,
+        double score) {
+}
@@ -0,0 +1,9 @@
+package org.example.backend.dto;
+
+import java.util.List;
+
+/**
+ * One page of topic search results; pass nextCursor back to get the next page
+ */
+public record TopicSearchPage(List<TopicSummary> items, String nextCursor) {
+}
@@ -0,0 +1,41 @@
+package org.example.backend.dto;
+
+import org.example.backend.enums.TopicStatus;
+
+/**
+ * Filters and ordering for topic search. Every filter is optional.
+ */
+public record TopicSearchQuery(
+        Long semesterId,
+        TopicStatus status,
+        Long supervisorId,
+        String codePattern, // LIKE pattern on topic code, built from the major prefix
+        SortField sortBy,
+        boolean ascending,
+        boolean includeDetails) {
+
+    public enum SortField {
+        CREATED_AT("createdAt"),
+        CODE("code"),
+        TITLE_EN("titleEn");
+
+        private final String attribute;
+
+        SortField(String attribute) {
+            this.attribute = attribute;
+        }
+
+        public String getAttribute() {
+            return attribute;
+        }
+
+        public static SortField fromParam(String value) {
+            for (SortField field : values()) {
+                if (field.attribute.equalsIgnoreCase(value) || field.name().equalsIgnoreCase(value)) {
+                    return field;
+                }
+            }
+            throw new RuntimeException("Unsupported sort field: " + value);
+        }
+    }
+}
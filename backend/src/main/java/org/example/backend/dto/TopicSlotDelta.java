@@ -0,0 +1,7 @@
+package org.example.backend.dto;
+
+/**
+ * Slot change of one topic pushed to live subscribers
+ */
+public record TopicSlotDelta(Long topicId, Integer remainingSlots, boolean available) {
+}
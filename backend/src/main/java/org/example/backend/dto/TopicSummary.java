@@ -0,0 +1,39 @@
+package org.example.backend.dto;
+
+import org.example.backend.entity.Topic;
+import org.example.backend.enums.TopicStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Topic row for listing pages; description and requirements are only filled when details are requested
+ */
+public record TopicSummary(
+        Long id,
+        String code,
+        String titleEn,
+        String titleVi,
+        TopicStatus status,
+        Integer version,
+        Integer maxTeams,
+        Integer remainingSlots,
+        Long supervisorId,
+        String supervisorName,
+        Long semesterId,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        String description,
+        String requirements) {
+
+    /**
+     * Reads the supervisor; list queries fetch it together with the topic
+     */
+    public static TopicSummary from(Topic topic) {
+        int maxTeams = topic.getMaxTeams() != null ? topic.getMaxTeams() : 0;
+        int registered = topic.getRegisteredTeams() != null ? topic.getRegisteredTeams() : 0;
+        return new TopicSummary(topic.getId(), topic.getCode(), topic.getTitleEn(), topic.getTitleVi(),
+                topic.getStatus(), topic.getVersion(), topic.getMaxTeams(), Math.max(0, maxTeams - registered),
+                topic.getSupervisor().getId(), topic.getSupervisor().getFullName(), topic.getSemester().getId(),
+                topic.getCreatedAt(), topic.getUpdatedAt(), topic.getDescription(), topic.getRequirements());
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.example.backend.enums.AdmissionStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registration queue ticket, stored as QUEUED when accepted and updated with its outcome;
+ * kept as the audit trail of the admission order
+ */
+@Entity
+@Table(name = "admission_tickets", indexes = {
+        @Index(name = "idx_admission_tickets_team", columnList = "team_id"),
+        @Index(name = "idx_admission_tickets_status", columnList = "status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AdmissionTicket {
+
+    @Id
+    private Long id; // Số thứ tự FCFS, cấp bởi SequenceAllocator
+
+    @Column(name = "semester_id", nullable = false)
+    private Long semesterId;
+
+    @Column(name = "team_id", nullable = false)
+    private Long teamId;
+
+    @Column(name = "topic_id", nullable = false)
+    private Long topicId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AdmissionStatus status;
+
+    private Long registrationId;
+
+    @Column(length = 1000)
+    private String error;
+
+    @Column(nullable = false)
+    private LocalDateTime queuedAt;
+
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,57 @@
+package org.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Compliance result of one topic field, keyed by a hash of the field content
+ */
+@Entity
+@Table(name = "compliance_cache", indexes = {
+        @Index(name = "idx_compliance_cache_created", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ComplianceCacheEntry implements Persistable<String> {
+
+    @Id
+    @Column(length = 64)
+    private String contentHash; // SHA-256 (hex) của tên field + quy tắc + nội dung
+
+    @Column(nullable = false, length = 50)
+    private String field;
+
+    @Column(nullable = false)
+    private Boolean passed;
+
+    @Column(length = 1000)
+    private String feedback;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Transient
+    @Builder.Default
+    private boolean isNew = true;
+
+    @Override
+    public String getId() {
+        return contentHash;
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        isNew = false;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Named counter handed out in blocks by SequenceAllocator
+ */
+@Entity
+@Table(name = "key_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class KeySequence {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(nullable = false)
+    private Long nextValue; // Giá trị đầu tiên chưa được cấp phát
+}
@@ -6,7 +6,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user_created_id", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_notifications_user_read_created_id", columnList = "user_id, is_read, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,36 @@
+package org.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notification written with the business transaction, moved to notifications by NotificationOutbox
+ */
+@Entity
+@Table(name = "notification_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(columnDefinition = "NVARCHAR(MAX)")
+    private String message;
+
+    private String link;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
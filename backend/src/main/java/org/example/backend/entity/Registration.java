@@ -40,6 +40,8 @@ public class Registration {
 
     private LocalDateTime rejectedAt;
 
+    private Long admissionSequence; // Số thứ tự trong hàng đợi đăng ký (FCFS)
+
     @PrePersist
     protected void onCreate() {
         registeredAt = LocalDateTime.now();
@@ -0,0 +1,46 @@
+package org.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Decision counters of the reviews of one topic version.
+ * Updated with conditional UPDATE statements, so concurrent submissions are
+ * serialized by the row lock and the status transition happens exactly once.
+ */
+@Entity
+@Table(name = "review_tallies", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_review_tallies_topic_version", columnNames = {"topic_id", "topic_version"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReviewTally {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "topic_id", nullable = false)
+    private Long topicId;
+
+    @Column(name = "topic_version", nullable = false)
+    private Integer topicVersion;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer assigned = 0; // Số reviewer được phân công
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer approved = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer rejected = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer decided = 0; // Số review đã có quyết định (kể cả CONSIDER)
+}
@@ -0,0 +1,63 @@
+package org.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.example.backend.enums.ScreeningJobStatus;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "screening_jobs", indexes = {
+        @Index(name = "idx_screening_jobs_status_next_attempt", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_screening_jobs_topic", columnList = "topic_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScreeningJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "topic_id", nullable = false)
+    private Long topicId;
+
+    @Column(nullable = false)
+    private Integer topicVersion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ScreeningJobStatus status;
+
+    private LocalDateTime deadline; // Hạn nộp đề tài của học kỳ, dùng để ưu tiên
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (status == null) {
+            status = ScreeningJobStatus.PENDING;
+        }
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+}
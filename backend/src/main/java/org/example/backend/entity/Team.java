@@ -30,6 +30,11 @@ public class Team {
     @Column(nullable = false)
     private TeamStatus status;
 
+    // Số thành viên, chỉ thay đổi qua conditional UPDATE trong TeamRepository
+    @Builder.Default
+    @Column(updatable = false, columnDefinition = "INT NOT NULL DEFAULT 0")
+    private Integer memberCount = 0;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "leader_id", nullable = false)
     private User leader;
@@ -7,6 +7,7 @@ import org.example.backend.enums.TeamMemberRole;
 import java.time.LocalDateTime;
 
 @Entity
+// Unique (user_id, semester_id) is created by TeamService once semester_id has been backfilled
 @Table(name = "team_members")
 @Data
 @NoArgsConstructor
@@ -26,6 +27,10 @@ public class TeamMember {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    // Copy of team.semester, only here for the unique constraint
+    @Column(name = "semester_id", updatable = false)
+    private Long semesterId;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private TeamMemberRole role;
@@ -7,7 +7,9 @@ import org.example.backend.enums.TopicStatus;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "topics")
+@Table(name = "topics", indexes = {
+        @Index(name = "idx_topics_semester_status_created", columnList = "semester_id, status, created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -41,9 +43,19 @@ public class Topic {
     @Column(nullable = false)
     private Integer maxTeams = 1; // Số nhóm tối đa có thể đăng ký
 
+    // Số slot đã được giữ, chỉ thay đổi qua conditional UPDATE trong TopicRepository
+    @Builder.Default
+    @Column(updatable = false, columnDefinition = "INT NOT NULL DEFAULT 0")
+    private Integer registeredTeams = 0;
+
     @Builder.Default
     private Integer version = 1; // Phiên bản (tăng khi sửa đổi)
 
+    // Optimistic lock, khác với version nội dung ở trên
+    @Version
+    @Column(columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long lockVersion;
+
     // AI Screening Results
     private Boolean aiCompliancePass;
     private String aiComplianceFeedback;
@@ -0,0 +1,53 @@
+package org.example.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted MinHash signature of a topic version, so the similarity index can be
+ * loaded on startup without re-reading every description
+ */
+@Entity
+@Table(name = "topic_signatures")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TopicSignature implements Persistable<Long> {
+
+    @Id
+    private Long topicId;
+
+    @Column(nullable = false)
+    private Integer topicVersion; // Phiên bản đề tài lúc tính chữ ký
+
+    @Column(nullable = false, length = 512)
+    private byte[] signature; // 128 int, big-endian
+
+    private LocalDateTime updatedAt;
+
+    // Id do mình gán nên Spring Data không tự biết bản ghi mới hay cũ; tránh SELECT trước mỗi INSERT
+    @Transient
+    @Builder.Default
+    private boolean isNew = true;
+
+    @Override
+    public Long getId() {
+        return topicId;
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        isNew = false;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.backend.enums;
+
+public enum AdmissionStatus {
+    QUEUED, // Đang chờ trong hàng đợi
+    ADMITTED, // Đăng ký thành công
+    REJECTED // Bị từ chối (hết slot, không hợp lệ...)
+}
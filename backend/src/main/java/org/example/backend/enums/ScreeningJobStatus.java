@@ -0,0 +1,9 @@
+package org.example.backend.enums;
+
+public enum ScreeningJobStatus {
+    PENDING, // Chờ chạy (hoặc chờ thử lại)
+    RUNNING, // Đang chạy AI check
+    SUCCEEDED, // Đã có kết quả AI
+    FAILED, // Hết số lần thử
+    CANCELLED // Đề tài không còn ở trạng thái PROCESSING
+}
@@ -0,0 +1,26 @@
+package org.example.backend.event;
+
+import org.example.backend.entity.Topic;
+import org.example.backend.enums.TopicStatus;
+
+/**
+ * Published whenever a topic's catalog-visible data changes
+ * (status, titles, slot counts...). Listeners react after commit.
+ * Carries the status the topic was given; null once the topic is deleted.
+ */
+public record TopicChangedEvent(Long topicId, Long semesterId, Long supervisorId, TopicStatus status) {
+
+    public static TopicChangedEvent of(Topic topic) {
+        return new TopicChangedEvent(topic.getId(), topic.getSemester().getId(), topic.getSupervisor().getId(),
+                topic.getStatus());
+    }
+
+    public static TopicChangedEvent deleted(Topic topic) {
+        return new TopicChangedEvent(topic.getId(), topic.getSemester().getId(), topic.getSupervisor().getId(),
+                null);
+    }
+
+    public boolean isDeleted() {
+        return status == null;
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.backend.event;
+
+/**
+ * Published when a user is created, deleted or changes role.
+ * Listeners react after commit.
+ */
+public record UserChangedEvent(Long userId) {
+}
@@ -2,6 +2,7 @@ package org.example.backend.exception;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
@@ -11,6 +12,17 @@ import java.util.Map;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    // Lost against a concurrent change, the client can reload and try again
+    @ExceptionHandler({TopicStateConflictException.class, ObjectOptimisticLockingFailureException.class})
+    public ResponseEntity<?> handleConflict(RuntimeException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                "error", e instanceof TopicStateConflictException
+                        ? e.getMessage()
+                        : "The data was changed by someone else, please reload and try again",
+                "timestamp", LocalDateTime.now(),
+                "status", HttpStatus.CONFLICT.value()));
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<?> handleRuntimeException(RuntimeException e) {
         return ResponseEntity.badRequest().body(Map.of(
@@ -0,0 +1,11 @@
+package org.example.backend.exception;
+
+/**
+ * Thrown when a semester's registration admission queue is full; clients should retry later
+ */
+public class RegistrationQueueFullException extends RuntimeException {
+
+    public RegistrationQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.backend.exception;
+
+/**
+ * Thrown when the AI screening backlog is full; clients should retry later
+ */
+public class ScreeningQueueFullException extends RuntimeException {
+
+    public ScreeningQueueFullException(String message) {
+        super(message);
+    }
+}
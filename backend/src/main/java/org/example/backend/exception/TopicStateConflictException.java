@@ -0,0 +1,11 @@
+package org.example.backend.exception;
+
+/**
+ * Thrown when a topic status transition keeps losing to concurrent changes
+ */
+public class TopicStateConflictException extends RuntimeException {
+
+    public TopicStateConflictException(String message) {
+        super(message);
+    }
+}
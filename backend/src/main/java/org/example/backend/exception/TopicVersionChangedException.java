@@ -0,0 +1,11 @@
+package org.example.backend.exception;
+
+/**
+ * Thrown when AI results are written for a topic version that has been replaced meanwhile
+ */
+public class TopicVersionChangedException extends RuntimeException {
+
+    public TopicVersionChangedException(String message) {
+        super(message);
+    }
+}
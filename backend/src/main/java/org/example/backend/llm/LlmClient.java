@@ -0,0 +1,12 @@
+package org.example.backend.llm;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Chat-completion style language model. Implementations must not block the
+ * calling thread; the returned future completes with the model's text answer.
+ */
+public interface LlmClient {
+
+    CompletableFuture<String> complete(String systemPrompt, String userPrompt, int maxOutputTokens);
+}
@@ -0,0 +1,217 @@
+package org.example.backend.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Content review of topics by a language model.
+ * Requests are coalesced (identical content is asked once) and grouped into one
+ * prompt per batch, sent within the per-minute token budget and behind a circuit
+ * breaker. Everything is asynchronous: no thread waits for the model, and a
+ * review that fails or times out completes empty so callers fall back to the
+ * rule-based checks.
+ */
+@Component
+@Slf4j
+public class LlmComplianceReviewer {
+
+    private static final String SYSTEM_PROMPT = """
+            You review capstone project proposals of a software engineering faculty.
+            For every topic decide whether the proposal is clear, feasible for a student team \
+            in one semester and consistent between title, description and requirements.
+            Answer with JSON only: {"results":[{"id":<topic id>,"passed":true|false,"feedback":"<one short sentence>"}]}""";
+
+    private static final int CHARS_PER_TOKEN = 4; // Ước lượng thô, đủ cho giới hạn theo phút
+
+    private final LlmClient llmClient;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long lingerMillis;
+    private final long requestTimeoutMillis;
+    private final int maxOutputTokensPerTopic;
+    private final ScheduledExecutorService scheduler;
+    private final TokenRateLimiter rateLimiter;
+    private final CircuitBreaker circuitBreaker;
+
+    private final Map<String, CompletableFuture<Optional<LlmVerdict>>> inFlight = new ConcurrentHashMap<>();
+    private List<PendingReview> pending = new ArrayList<>();
+
+    public LlmComplianceReviewer(LlmClient llmClient, ObjectMapper objectMapper,
+            @Value("${ai.llm.enabled:false}") boolean enabled,
+            @Value("${ai.llm.batch-size:5}") int batchSize,
+            @Value("${ai.llm.batch-linger-ms:200}") long lingerMillis,
+            @Value("${ai.llm.request-timeout-ms:30000}") long requestTimeoutMillis,
+            @Value("${ai.llm.tokens-per-minute:60000}") int tokensPerMinute,
+            @Value("${ai.llm.max-output-tokens-per-topic:200}") int maxOutputTokensPerTopic,
+            @Value("${ai.llm.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${ai.llm.circuit.open-ms:60000}") long openMillis) {
+        this.llmClient = llmClient;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.lingerMillis = lingerMillis;
+        this.requestTimeoutMillis = requestTimeoutMillis;
+        this.maxOutputTokensPerTopic = maxOutputTokensPerTopic;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "llm-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.rateLimiter = new TokenRateLimiter(tokensPerMinute, scheduler);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openMillis);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Review one topic; completes empty when the model is disabled or unavailable
+     */
+    public CompletableFuture<Optional<LlmVerdict>> review(LlmReviewRequest request) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        CompletableFuture<Optional<LlmVerdict>> created = new CompletableFuture<>();
+        CompletableFuture<Optional<LlmVerdict>> existing = inFlight.putIfAbsent(request.contentKey(), created);
+        if (existing != null) {
+            return existing;
+        }
+
+        List<PendingReview> ready = null;
+        boolean first;
+        synchronized (this) {
+            pending.add(new PendingReview(request, created));
+            first = pending.size() == 1;
+            if (pending.size() >= batchSize) {
+                ready = takePending();
+            }
+        }
+        if (ready != null) {
+            send(ready);
+        } else if (first) {
+            // Chờ thêm đề tài khác để gửi chung một prompt
+            scheduler.schedule(this::flush, lingerMillis, TimeUnit.MILLISECONDS);
+        }
+        return created;
+    }
+
+    /**
+     * Send whatever is waiting without waiting for a full batch
+     */
+    public void flush() {
+        List<PendingReview> ready;
+        synchronized (this) {
+            ready = takePending();
+        }
+        if (!ready.isEmpty()) {
+            send(ready);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    private List<PendingReview> takePending() {
+        List<PendingReview> taken = pending;
+        pending = new ArrayList<>();
+        return taken;
+    }
+
+    private void send(List<PendingReview> batch) {
+        if (!circuitBreaker.allowRequest()) {
+            log.debug("LLM circuit open, {} topics fall back to rule checks", batch.size());
+            completeAll(batch, Map.of());
+            return;
+        }
+
+        String prompt;
+        try {
+            prompt = buildPrompt(batch);
+        } catch (Exception e) {
+            completeAll(batch, Map.of());
+            return;
+        }
+        int maxOutputTokens = maxOutputTokensPerTopic * batch.size();
+        int estimatedTokens = (SYSTEM_PROMPT.length() + prompt.length()) / CHARS_PER_TOKEN + maxOutputTokens;
+
+        // The timeout only covers the model call, waiting for token budget is not a failure
+        rateLimiter.acquire(estimatedTokens)
+                .thenCompose(ignored -> llmClient.complete(SYSTEM_PROMPT, prompt, maxOutputTokens)
+                        .orTimeout(requestTimeoutMillis, TimeUnit.MILLISECONDS))
+                .thenApply(this::parseVerdicts)
+                .whenComplete((verdicts, error) -> {
+                    if (error != null) {
+                        circuitBreaker.recordFailure();
+                        log.warn("LLM review of {} topics failed: {}", batch.size(), error.toString());
+                        completeAll(batch, Map.of());
+                    } else {
+                        circuitBreaker.recordSuccess();
+                        completeAll(batch, verdicts);
+                    }
+                });
+    }
+
+    private String buildPrompt(List<PendingReview> batch) throws Exception {
+        List<Map<String, Object>> topics = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            LlmReviewRequest request = batch.get(i).request();
+            Map<String, Object> topic = new HashMap<>();
+            topic.put("id", i);
+            topic.put("titleEn", request.titleEn());
+            topic.put("titleVi", request.titleVi());
+            topic.put("description", request.description());
+            topic.put("requirements", request.requirements());
+            topics.add(topic);
+        }
+        return objectMapper.writeValueAsString(Map.of("topics", topics));
+    }
+
+    private Map<Integer, LlmVerdict> parseVerdicts(String content) {
+        try {
+            Map<Integer, LlmVerdict> verdicts = new HashMap<>();
+            for (JsonNode result : objectMapper.readTree(content).path("results")) {
+                if (result.path("id").canConvertToInt() && result.path("passed").isBoolean()) {
+                    verdicts.put(result.path("id").asInt(),
+                            new LlmVerdict(result.path("passed").asBoolean(), result.path("feedback").asText("")));
+                }
+            }
+            return verdicts;
+        } catch (Exception e) {
+            throw new LlmException("LLM answer is not valid JSON", e);
+        }
+    }
+
+    private void completeAll(List<PendingReview> batch, Map<Integer, LlmVerdict> verdicts) {
+        for (int i = 0; i < batch.size(); i++) {
+            PendingReview review = batch.get(i);
+            inFlight.remove(review.request().contentKey(), review.result());
+            review.result().complete(Optional.ofNullable(verdicts.get(i)));
+        }
+    }
+
+    private record PendingReview(LlmReviewRequest request, CompletableFuture<Optional<LlmVerdict>> result) {
+    }
+}
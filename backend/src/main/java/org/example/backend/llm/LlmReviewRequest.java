@@ -0,0 +1,15 @@
+package org.example.backend.llm;
+
+/**
+ * Topic content sent to the model for a compliance review
+ */
+public record LlmReviewRequest(String titleEn, String titleVi, String description, String requirements) {
+
+    /**
+     * Identical content is reviewed once even if requested several times
+     */
+    public String contentKey() {
+        return String.join("\u0000", String.valueOf(titleEn), String.valueOf(titleVi),
+                String.valueOf(description), String.valueOf(requirements));
+    }
+}
@@ -0,0 +1,4 @@
+package org.example.backend.llm;
+
+public record LlmVerdict(boolean passed, String feedback) {
+}
@@ -0,0 +1,84 @@
+package org.example.backend.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * OpenAI chat completions over java.net.http; requests are sent asynchronously
+ * so waiting for the model does not occupy an application thread
+ */
+@Component
+public class OpenAiLlmClient implements LlmClient {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final String apiKey;
+    private final String model;
+    private final Duration requestTimeout;
+
+    public OpenAiLlmClient(ObjectMapper objectMapper,
+            @Value("${ai.llm.base-url:https://api.openai.com/v1}") String baseUrl,
+            @Value("${ai.llm.api-key:}") String apiKey,
+            @Value("${ai.llm.model:gpt-4o-mini}") String model,
+            @Value("${ai.llm.request-timeout-ms:30000}") long requestTimeoutMs) {
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.apiKey = apiKey;
+        this.model = model;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @Override
+    public CompletableFuture<String> complete(String systemPrompt, String userPrompt, int maxOutputTokens) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("model", model);
+        body.put("temperature", 0);
+        body.put("max_tokens", maxOutputTokens);
+        body.putObject("response_format").put("type", "json_object");
+        body.putArray("messages")
+                .add(objectMapper.createObjectNode().put("role", "system").put("content", systemPrompt))
+                .add(objectMapper.createObjectNode().put("role", "user").put("content", userPrompt));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/chat/completions"))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + apiKey)
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(this::extractContent);
+    }
+
+    private String extractContent(HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new LlmException("LLM request failed with HTTP " + response.statusCode());
+        }
+        try {
+            JsonNode content = objectMapper.readTree(response.body())
+                    .path("choices").path(0).path("message").path("content");
+            if (!content.isTextual()) {
+                throw new LlmException("LLM response has no message content");
+            }
+            return content.asText();
+        } catch (LlmException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new LlmException("Unreadable LLM response", e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.backend.llm;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens-per-minute limiter that never blocks a thread. Callers reserve tokens
+ * and get a future that completes once the budget allows the request; budget is
+ * refilled continuously, up to one minute's worth.
+ */
+public class TokenRateLimiter {
+
+    private final double tokensPerMilli;
+    private final double capacity;
+    private final ScheduledExecutorService scheduler;
+
+    private double available;
+    private long lastRefill;
+
+    public TokenRateLimiter(int tokensPerMinute, ScheduledExecutorService scheduler) {
+        this.capacity = tokensPerMinute;
+        this.tokensPerMilli = tokensPerMinute / 60000.0;
+        this.scheduler = scheduler;
+        this.available = tokensPerMinute;
+        this.lastRefill = System.currentTimeMillis();
+    }
+
+    public CompletableFuture<Void> acquire(int tokens) {
+        long waitMillis;
+        synchronized (this) {
+            refill();
+            // Reserve now, even into debt, so later callers queue up behind this one
+            available -= Math.min(tokens, capacity);
+            waitMillis = available >= 0 ? 0 : (long) Math.ceil(-available / tokensPerMilli);
+        }
+        if (waitMillis == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> ready = new CompletableFuture<>();
+        scheduler.schedule(() -> ready.complete(null), waitMillis, TimeUnit.MILLISECONDS);
+        return ready;
+    }
+
+    private void refill() {
+        long now = System.currentTimeMillis();
+        available = Math.min(capacity, available + (now - lastRefill) * tokensPerMilli);
+        lastRefill = now;
+    }
+}
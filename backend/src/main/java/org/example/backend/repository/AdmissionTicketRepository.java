@@ -0,0 +1,18 @@
+package org.example.backend.repository;
+
+import org.example.backend.entity.AdmissionTicket;
+import org.example.backend.enums.AdmissionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AdmissionTicketRepository extends JpaRepository<AdmissionTicket, Long> {
+
+    @Query("SELECT MAX(t.id) FROM AdmissionTicket t")
+    Long findMaxId();
+
+    List<AdmissionTicket> findByStatusOrderByIdAsc(AdmissionStatus status);
+}
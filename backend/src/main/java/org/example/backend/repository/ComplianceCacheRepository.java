@@ -0,0 +1,18 @@
+package org.example.backend.repository;
+
+import org.example.backend.entity.ComplianceCacheEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ComplianceCacheRepository extends JpaRepository<ComplianceCacheEntry, String> {
+
+    @Query("SELECT e.contentHash FROM ComplianceCacheEntry e WHERE e.createdAt < :cutoff ORDER BY e.createdAt")
+    List<String> findHashesCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+}
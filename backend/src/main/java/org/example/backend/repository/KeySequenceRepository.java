@@ -0,0 +1,19 @@
+package org.example.backend.repository;
+
+import org.example.backend.entity.KeySequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface KeySequenceRepository extends JpaRepository<KeySequence, String> {
+
+    @Modifying
+    @Query("UPDATE KeySequence s SET s.nextValue = s.nextValue + :count WHERE s.name = :name")
+    int advance(@Param("name") String name, @Param("count") long count);
+
+    @Query("SELECT s.nextValue FROM KeySequence s WHERE s.name = :name")
+    Long findNextValue(@Param("name") String name);
+}
@@ -0,0 +1,22 @@
+package org.example.backend.repository;
+
+import org.example.backend.entity.NotificationOutboxEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxEntry, Long> {
+
+    @Query("SELECT e FROM NotificationOutboxEntry e ORDER BY e.id")
+    List<NotificationOutboxEntry> findOldest(Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM NotificationOutboxEntry e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+}
@@ -1,10 +1,16 @@
 package org.example.backend.repository;
 
+import org.example.backend.dto.NotificationResponse;
 import org.example.backend.entity.Notification;
 import org.example.backend.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -15,4 +21,45 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByUserAndIsReadFalseOrderByCreatedAtDesc(User user);
 
     Long countByUserAndIsReadFalse(User user);
+
+    long countByUser_IdAndIsReadFalse(Long userId);
+
+    /*
+     * Feed pages, all notifications and unread only as separate queries so each one
+     * reads its index (user_id, created_at, id) / (user_id, is_read, created_at, id) in order
+     */
+    @Query("SELECT new org.example.backend.dto.NotificationResponse(n.id, n.title, n.message, n.link, n.isRead, n.createdAt, n.readAt) " +
+            "FROM Notification n WHERE n.user.id = :userId " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationResponse> findFeedFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT new org.example.backend.dto.NotificationResponse(n.id, n.title, n.message, n.link, n.isRead, n.createdAt, n.readAt) " +
+            "FROM Notification n WHERE n.user.id = :userId " +
+            "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationResponse> findFeedPageAfter(@Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    @Query("SELECT new org.example.backend.dto.NotificationResponse(n.id, n.title, n.message, n.link, n.isRead, n.createdAt, n.readAt) " +
+            "FROM Notification n WHERE n.user.id = :userId AND n.isRead = false " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationResponse> findUnreadFeedFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT new org.example.backend.dto.NotificationResponse(n.id, n.title, n.message, n.link, n.isRead, n.createdAt, n.readAt) " +
+            "FROM Notification n WHERE n.user.id = :userId AND n.isRead = false " +
+            "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationResponse> findUnreadFeedPageAfter(@Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt WHERE n.user = :user AND n.isRead = false")
+    int markAllAsRead(@Param("user") User user, @Param("readAt") LocalDateTime readAt);
+
+    @Query("SELECT n.id FROM Notification n WHERE n.isRead = true AND n.createdAt < :cutoff ORDER BY n.id")
+    List<Long> findReadIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
 }
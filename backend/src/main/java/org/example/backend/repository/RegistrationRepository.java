@@ -4,6 +4,8 @@ import org.example.backend.entity.Registration;
 import org.example.backend.entity.Team;
 import org.example.backend.entity.Topic;
 import org.example.backend.enums.RegistrationStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,6 +17,7 @@ import java.util.Optional;
 @Repository
 public interface RegistrationRepository extends JpaRepository<Registration, Long> {
 
+    @EntityGraph(attributePaths = "topic")
     List<Registration> findByTeam(Team team);
 
     List<Registration> findByTopic(Topic topic);
@@ -25,15 +28,44 @@ public interface RegistrationRepository extends JpaRepository<Registration, Long
 
     List<Registration> findByTopicAndStatus(Topic topic, RegistrationStatus status);
 
-    @Query("SELECT r FROM Registration r WHERE r.topic.supervisor = :supervisor")
+    @Query("SELECT r FROM Registration r JOIN FETCH r.team JOIN FETCH r.topic t WHERE t.supervisor = :supervisor")
     List<Registration> findBySupervisor(@Param("supervisor") org.example.backend.entity.User supervisor);
 
-    @Query("SELECT r FROM Registration r WHERE r.topic.supervisor = :supervisor AND r.status = :status")
+    @Query("SELECT r FROM Registration r JOIN FETCH r.team JOIN FETCH r.topic t "
+            + "WHERE t.supervisor = :supervisor AND r.status = :status")
     List<Registration> findBySupervisorAndStatus(@Param("supervisor") org.example.backend.entity.User supervisor,
             @Param("status") RegistrationStatus status);
 
+    /**
+     * [semesterId, status, number of registrations]; all semesters when semesterId is null
+     */
+    @Query("SELECT r.topic.semester.id, r.status, COUNT(r) FROM Registration r " +
+            "WHERE :semesterId IS NULL OR r.topic.semester.id = :semesterId GROUP BY r.topic.semester.id, r.status")
+    List<Object[]> countBySemesterAndStatus(@Param("semesterId") Long semesterId);
+
+    /**
+     * [status, number of registrations] for topics of the supervisor; all semesters when semesterId is null
+     */
+    @Query("SELECT r.status, COUNT(r) FROM Registration r " +
+            "WHERE r.topic.supervisor.id = :supervisorId AND (:semesterId IS NULL OR r.topic.semester.id = :semesterId) " +
+            "GROUP BY r.status")
+    List<Object[]> countBySupervisorGroupByStatus(@Param("supervisorId") Long supervisorId,
+            @Param("semesterId") Long semesterId);
+
+    @Query("SELECT r FROM Registration r JOIN FETCH r.team JOIN FETCH r.topic t " +
+            "WHERE t.supervisor.id = :supervisorId AND (:semesterId IS NULL OR t.semester.id = :semesterId) " +
+            "AND r.status = 'PENDING' ORDER BY r.registeredAt")
+    List<Registration> findOldestPendingBySupervisor(@Param("supervisorId") Long supervisorId,
+            @Param("semesterId") Long semesterId, Pageable pageable);
+
     @Query("SELECT COUNT(r) FROM Registration r WHERE r.topic = :topic AND r.status IN ('PENDING', 'APPROVED', 'FINALIZED')")
     Long countActiveRegistrations(@Param("topic") Topic topic);
 
     boolean existsByTeamAndTopic(Team team, Topic topic);
+
+    @Query("SELECT MAX(r.admissionSequence) FROM Registration r")
+    Long findMaxAdmissionSequence();
+
+    @Query("SELECT r.id FROM Registration r WHERE r.admissionSequence = :sequence")
+    Optional<Long> findIdByAdmissionSequence(@Param("sequence") Long sequence);
 }
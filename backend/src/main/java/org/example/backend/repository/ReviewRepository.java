@@ -4,6 +4,7 @@ import org.example.backend.entity.Review;
 import org.example.backend.entity.Topic;
 import org.example.backend.entity.User;
 import org.example.backend.enums.ReviewDecision;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,6 +16,7 @@ import java.util.Optional;
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
+    @EntityGraph(attributePaths = "reviewer")
     List<Review> findByTopic(Topic topic);
 
     List<Review> findByReviewer(User reviewer);
@@ -23,7 +25,8 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
 
     Optional<Review> findByTopicAndReviewer(Topic topic, User reviewer);
 
-    @Query("SELECT r FROM Review r WHERE r.reviewer = :reviewer AND r.decision IS NULL")
+    @Query("SELECT r FROM Review r JOIN FETCH r.topic JOIN FETCH r.reviewer "
+            + "WHERE r.reviewer = :reviewer AND r.decision IS NULL")
     List<Review> findPendingByReviewer(@Param("reviewer") User reviewer);
 
     @Query("SELECT COUNT(r) FROM Review r WHERE r.topic = :topic AND r.topicVersion = :version AND r.decision IS NOT NULL")
@@ -35,4 +38,17 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
             @Param("decision") ReviewDecision decision);
 
     boolean existsByTopicAndReviewer(Topic topic, User reviewer);
+
+    /**
+     * [semesterId, number of reviews without a decision]; all semesters when semesterId is null
+     */
+    @Query("SELECT r.topic.semester.id, COUNT(r) FROM Review r WHERE r.decision IS NULL " +
+            "AND (:semesterId IS NULL OR r.topic.semester.id = :semesterId) GROUP BY r.topic.semester.id")
+    List<Object[]> countOpenReviewsBySemester(@Param("semesterId") Long semesterId);
+
+    /**
+     * [reviewerId, number of reviews without a decision]
+     */
+    @Query("SELECT r.reviewer.id, COUNT(r) FROM Review r WHERE r.decision IS NULL GROUP BY r.reviewer.id")
+    List<Object[]> countOpenReviewsByReviewer();
 }
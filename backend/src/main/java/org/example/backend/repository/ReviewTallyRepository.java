@@ -0,0 +1,40 @@
+package org.example.backend.repository;
+
+import org.example.backend.dto.ReviewTallyCounts;
+import org.example.backend.entity.ReviewTally;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ReviewTallyRepository extends JpaRepository<ReviewTally, Long> {
+
+    boolean existsByTopicIdAndTopicVersion(Long topicId, Integer topicVersion);
+
+    @Modifying
+    @Query("UPDATE ReviewTally t SET t.assigned = t.assigned + :count "
+            + "WHERE t.topicId = :topicId AND t.topicVersion = :version")
+    int addAssigned(@Param("topicId") Long topicId, @Param("version") Integer version, @Param("count") int count);
+
+    @Modifying
+    @Query("UPDATE ReviewTally t SET t.approved = t.approved + :approved, t.rejected = t.rejected + :rejected, "
+            + "t.decided = t.decided + :decided "
+            + "WHERE t.topicId = :topicId AND t.topicVersion = :version")
+    int addDecisions(@Param("topicId") Long topicId, @Param("version") Integer version,
+            @Param("approved") int approved, @Param("rejected") int rejected, @Param("decided") int decided);
+
+    /**
+     * Read as a projection so the values come from the database, not from a managed entity
+     */
+    @Query("SELECT new org.example.backend.dto.ReviewTallyCounts(t.assigned, t.approved, t.rejected, t.decided) "
+            + "FROM ReviewTally t WHERE t.topicId = :topicId AND t.topicVersion = :version")
+    Optional<ReviewTallyCounts> findCounts(@Param("topicId") Long topicId, @Param("version") Integer version);
+
+    @Modifying
+    @Query("DELETE FROM ReviewTally t WHERE t.topicId = :topicId")
+    int deleteByTopicId(@Param("topicId") Long topicId);
+}
@@ -0,0 +1,76 @@
+package org.example.backend.repository;
+
+import org.example.backend.entity.ScreeningJob;
+import org.example.backend.entity.Topic;
+import org.example.backend.enums.ScreeningJobStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ScreeningJobRepository extends JpaRepository<ScreeningJob, Long> {
+
+    long countByStatusIn(List<ScreeningJobStatus> statuses);
+
+    Optional<ScreeningJob> findFirstByTopicIdAndStatusIn(Long topicId, List<ScreeningJobStatus> statuses);
+
+    Optional<ScreeningJob> findFirstByTopicIdOrderByIdDesc(Long topicId);
+
+    /**
+     * Due jobs, nearest semester deadline first, then FIFO
+     */
+    @Query("SELECT j.id FROM ScreeningJob j WHERE j.status = 'PENDING' AND j.nextAttemptAt <= :now " +
+            "ORDER BY CASE WHEN j.deadline IS NULL THEN 1 ELSE 0 END, j.deadline, j.id")
+    List<Long> findDueJobIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE ScreeningJob j SET j.status = 'RUNNING', j.attempts = j.attempts + 1, j.startedAt = :now " +
+            "WHERE j.id = :jobId AND j.status = 'PENDING'")
+    int claim(@Param("jobId") Long jobId, @Param("now") LocalDateTime now);
+
+    /**
+     * Undo a claim whose job could not be handed to a worker; it does not count as an attempt
+     */
+    @Modifying
+    @Query("UPDATE ScreeningJob j SET j.status = 'PENDING', j.attempts = j.attempts - 1, j.startedAt = NULL, " +
+            "j.nextAttemptAt = :now WHERE j.id = :jobId AND j.status = 'RUNNING'")
+    int unclaim(@Param("jobId") Long jobId, @Param("now") LocalDateTime now);
+
+    /**
+     * Requeue running jobs whose lease has expired (their worker or instance is gone)
+     */
+    @Modifying
+    @Query("UPDATE ScreeningJob j SET j.status = 'PENDING', j.nextAttemptAt = :now " +
+            "WHERE j.status = 'RUNNING' AND (j.startedAt IS NULL OR j.startedAt < :expiredBefore)")
+    int requeueExpired(@Param("expiredBefore") LocalDateTime expiredBefore, @Param("now") LocalDateTime now);
+
+    @Query("SELECT j.topicId FROM ScreeningJob j WHERE j.topicId IN :topicIds AND j.status = 'RUNNING'")
+    List<Long> findRunningTopicIds(@Param("topicIds") List<Long> topicIds);
+
+    @Query("SELECT j.id FROM ScreeningJob j WHERE j.topicId IN :topicIds AND j.status = 'PENDING'")
+    List<Long> findPendingJobIds(@Param("topicIds") List<Long> topicIds);
+
+    @Modifying
+    @Query("UPDATE ScreeningJob j SET j.status = 'CANCELLED', j.finishedAt = :now " +
+            "WHERE j.id IN :jobIds AND j.status = 'PENDING'")
+    int cancelPending(@Param("jobIds") List<Long> jobIds, @Param("now") LocalDateTime now);
+
+    /**
+     * Put jobs cancelled by a batch run that did not finish back in the queue
+     */
+    @Modifying
+    @Query("UPDATE ScreeningJob j SET j.status = 'PENDING', j.nextAttemptAt = :now, j.finishedAt = NULL " +
+            "WHERE j.id IN :jobIds AND j.status = 'CANCELLED'")
+    int requeueCancelled(@Param("jobIds") List<Long> jobIds, @Param("now") LocalDateTime now);
+
+    @Query("SELECT t FROM Topic t WHERE t.status = 'PROCESSING' AND NOT EXISTS " +
+            "(SELECT 1 FROM ScreeningJob j WHERE j.topicId = t.id AND j.status IN ('PENDING', 'RUNNING'))")
+    List<Topic> findProcessingTopicsWithoutJob();
+}
@@ -4,8 +4,12 @@ import org.example.backend.entity.TeamMember;
 import org.example.backend.entity.Team;
 import org.example.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,4 +25,15 @@ public interface TeamMemberRepository extends JpaRepository<TeamMember, Long> {
     boolean existsByTeamAndUser(Team team, User user);
 
     Long countByTeam(Team team);
+
+    @Query("SELECT m FROM TeamMember m JOIN FETCH m.user WHERE m.team IN :teams ORDER BY m.joinedAt")
+    List<TeamMember> findWithUserByTeamIn(@Param("teams") Collection<Team> teams);
+
+    /**
+     * Fill semesterId of members created before the column existed
+     */
+    @Modifying
+    @Query("UPDATE TeamMember m SET m.semesterId = (SELECT t.semester.id FROM Team t WHERE t = m.team) "
+            + "WHERE m.semesterId IS NULL")
+    int backfillSemesterIds();
 }
@@ -4,7 +4,9 @@ import org.example.backend.entity.Team;
 import org.example.backend.entity.Semester;
 import org.example.backend.entity.User;
 import org.example.backend.enums.TeamStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -21,6 +23,9 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
 
     List<Team> findBySemester(Semester semester);
 
+    @EntityGraph(attributePaths = "leader")
+    List<Team> findWithLeaderBySemester(Semester semester);
+
     List<Team> findByStatus(TeamStatus status);
 
     List<Team> findBySemesterAndStatus(Semester semester, TeamStatus status);
@@ -32,4 +37,61 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
     boolean isUserInTeamForSemester(@Param("user") User user, @Param("semester") Semester semester);
 
     boolean existsByInviteCode(String inviteCode);
+
+    /**
+     * [semesterId, status, number of teams, sum of memberCount]; all semesters when semesterId is null
+     */
+    @Query("SELECT t.semester.id, t.status, COUNT(t), SUM(t.memberCount) FROM Team t " +
+            "WHERE :semesterId IS NULL OR t.semester.id = :semesterId GROUP BY t.semester.id, t.status")
+    List<Object[]> countBySemesterAndStatus(@Param("semesterId") Long semesterId);
+
+    /**
+     * READY teams of the semester without a PENDING registration
+     */
+    @Query("SELECT COUNT(t) FROM Team t WHERE t.semester.id = :semesterId AND t.status = 'READY' AND NOT EXISTS " +
+            "(SELECT 1 FROM Registration r WHERE r.team = t AND r.status = 'PENDING')")
+    long countUnregisteredReady(@Param("semesterId") Long semesterId);
+
+    @Query("SELECT t.id FROM Team t WHERE t.inviteCode = :inviteCode")
+    Optional<Long> findIdByInviteCode(@Param("inviteCode") String inviteCode);
+
+    /**
+     * [inviteCode, teamId] of every team
+     */
+    @Query("SELECT t.inviteCode, t.id FROM Team t")
+    List<Object[]> findAllInviteCodes();
+
+    /**
+     * Take a member slot; the row lock serializes concurrent joins of the same team
+     */
+    @Modifying
+    @Query("UPDATE Team t SET t.memberCount = t.memberCount + 1 WHERE t.id = :teamId AND t.memberCount < :maxSize")
+    int addMember(@Param("teamId") Long teamId, @Param("maxSize") int maxSize);
+
+    @Modifying
+    @Query("UPDATE Team t SET t.memberCount = t.memberCount - 1 WHERE t.id = :teamId AND t.memberCount > 0")
+    int removeMember(@Param("teamId") Long teamId);
+
+    /**
+     * FORMING -> READY, decided on the member count of the (locked) row
+     */
+    @Modifying
+    @Query("UPDATE Team t SET t.status = 'READY' WHERE t.id = :teamId AND t.status = 'FORMING' " +
+            "AND t.memberCount >= :minSize AND t.memberCount <= :maxSize")
+    int markReady(@Param("teamId") Long teamId, @Param("minSize") int minSize, @Param("maxSize") int maxSize);
+
+    /**
+     * READY -> FORMING once the team drops below the minimum size
+     */
+    @Modifying
+    @Query("UPDATE Team t SET t.status = 'FORMING' WHERE t.id = :teamId AND t.status = 'READY' " +
+            "AND t.memberCount < :minSize")
+    int markForming(@Param("teamId") Long teamId, @Param("minSize") int minSize);
+
+    @Query("SELECT t.memberCount FROM Team t WHERE t.id = :teamId")
+    Integer findMemberCount(@Param("teamId") Long teamId);
+
+    @Modifying
+    @Query("UPDATE Team t SET t.memberCount = (SELECT COUNT(m) FROM TeamMember m WHERE m.team = t)")
+    int syncMemberCounts();
 }
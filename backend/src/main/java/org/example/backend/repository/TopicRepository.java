@@ -1,19 +1,24 @@
 package org.example.backend.repository;
 
+import org.example.backend.dto.TopicCatalogEntry;
 import org.example.backend.entity.Topic;
 import org.example.backend.entity.User;
 import org.example.backend.entity.Semester;
 import org.example.backend.enums.TopicStatus;
+import org.example.backend.enums.RegistrationStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TopicRepository extends JpaRepository<Topic, Long> {
+public interface TopicRepository extends JpaRepository<Topic, Long>, TopicSearchRepository {
 
     Optional<Topic> findByCode(String code);
 
@@ -27,15 +32,105 @@ public interface TopicRepository extends JpaRepository<Topic, Long> {
 
     List<Topic> findBySemesterAndStatus(Semester semester, TopicStatus status);
 
+    @EntityGraph(attributePaths = "supervisor")
+    List<Topic> findWithSupervisorBySupervisor(User supervisor);
+
+    @EntityGraph(attributePaths = "supervisor")
+    List<Topic> findWithSupervisorBySemester(Semester semester);
+
+    @EntityGraph(attributePaths = "supervisor")
+    List<Topic> findWithSupervisorByStatus(TopicStatus status);
+
+    /**
+     * Topics with supervisor and semester loaded, so they can be serialized outside a session (catalog cache)
+     */
+    @EntityGraph(attributePaths = {"supervisor", "semester"})
+    List<Topic> findWithSupervisorAndSemesterByStatus(TopicStatus status);
+
     List<Topic> findBySupervisorAndSemester(User supervisor, Semester semester);
 
     @Query("SELECT t FROM Topic t WHERE t.status IN :statuses AND t.semester = :semester")
     List<Topic> findByStatusesAndSemester(@Param("statuses") List<TopicStatus> statuses,
             @Param("semester") Semester semester);
 
-    @Query("SELECT COUNT(t) FROM Topic t WHERE t.semester = :semester AND t.code LIKE :prefix%")
-    Long countByCodePrefix(@Param("semester") Semester semester, @Param("prefix") String prefix);
+    @Query("SELECT t.code FROM Topic t WHERE t.semester = :semester AND t.code LIKE :prefix%")
+    List<String> findCodesByPrefix(@Param("semester") Semester semester, @Param("prefix") String prefix);
+
+    /**
+     * [semesterId, status, number of topics]; all semesters when semesterId is null
+     */
+    @Query("SELECT t.semester.id, t.status, COUNT(t) FROM Topic t " +
+            "WHERE :semesterId IS NULL OR t.semester.id = :semesterId GROUP BY t.semester.id, t.status")
+    List<Object[]> countBySemesterAndStatus(@Param("semesterId") Long semesterId);
+
+    /**
+     * [status, number of topics, sum of maxTeams, sum of registeredTeams] of the supervisor's topics;
+     * all semesters when semesterId is null
+     */
+    @Query("SELECT t.status, COUNT(t), SUM(t.maxTeams), SUM(t.registeredTeams) FROM Topic t " +
+            "WHERE t.supervisor.id = :supervisorId AND (:semesterId IS NULL OR t.semester.id = :semesterId) " +
+            "GROUP BY t.status")
+    List<Object[]> summarizeBySupervisor(@Param("supervisorId") Long supervisorId,
+            @Param("semesterId") Long semesterId);
 
     @Query("SELECT t FROM Topic t WHERE t.status IN ('APPROVED', 'PUBLISHED') AND t.semester = :semester")
     List<Topic> findAvailableForRegistration(@Param("semester") Semester semester);
+
+    @Query("SELECT new org.example.backend.dto.TopicCatalogEntry(t.id, t.code, t.titleEn, t.titleVi, t.status, " +
+            "t.maxTeams, CASE WHEN t.registeredTeams < t.maxTeams THEN t.maxTeams - t.registeredTeams ELSE 0 END, " +
+            "s.id, s.fullName) " +
+            "FROM Topic t JOIN t.supervisor s " +
+            "WHERE t.status IN ('APPROVED', 'PUBLISHED') AND t.semester.id = :semesterId ORDER BY t.code")
+    List<TopicCatalogEntry> findCatalogForRegistration(@Param("semesterId") Long semesterId);
+
+    @Modifying
+    @Query("UPDATE Topic t SET t.registeredTeams = t.registeredTeams + 1 WHERE t.id = :topicId AND t.registeredTeams < t.maxTeams")
+    int reserveSlot(@Param("topicId") Long topicId);
+
+    @Modifying
+    @Query("UPDATE Topic t SET t.registeredTeams = t.registeredTeams - 1 WHERE t.id = :topicId AND t.registeredTeams > 0")
+    int releaseSlot(@Param("topicId") Long topicId);
+
+    @Query("SELECT DISTINCT t.semester.id FROM Topic t " +
+            "WHERE t.status = 'PROCESSING' AND t.semester.topicSubmissionClose < :now")
+    List<Long> findSemestersWithProcessingTopicsClosedBefore(@Param("now") LocalDateTime now);
+
+    /**
+     * [status, lockVersion] of the topic
+     */
+    @Query("SELECT t.status, t.lockVersion FROM Topic t WHERE t.id = :topicId")
+    List<Object[]> findStateById(@Param("topicId") Long topicId);
+
+    /**
+     * Compare-and-set of the status, only applied if nobody changed the topic since it was read.
+     * approvedAt / publishedAt are written when given and kept when null.
+     */
+    @Modifying
+    @Query("UPDATE Topic t SET t.status = :to, t.lockVersion = t.lockVersion + 1, t.updatedAt = :now, " +
+            "t.approvedAt = COALESCE(:approvedAt, t.approvedAt), t.publishedAt = COALESCE(:publishedAt, t.publishedAt) " +
+            "WHERE t.id = :topicId AND t.status = :from AND t.lockVersion = :lockVersion")
+    int transitionStatus(@Param("topicId") Long topicId, @Param("from") TopicStatus from,
+            @Param("to") TopicStatus to, @Param("lockVersion") Long lockVersion, @Param("now") LocalDateTime now,
+            @Param("approvedAt") LocalDateTime approvedAt, @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Query("SELECT t.version FROM Topic t WHERE t.id = :topicId")
+    Integer findVersion(@Param("topicId") Long topicId);
+
+    @Query("SELECT t.registeredTeams FROM Topic t WHERE t.id = :topicId")
+    Integer findRegisteredTeams(@Param("topicId") Long topicId);
+
+    @Query("SELECT t.id, t.registeredTeams FROM Topic t WHERE t.registeredTeams > 0")
+    List<Object[]> findOccupiedSlots();
+
+    /**
+     * Topics whose registeredTeams no longer matches their active registrations (read only)
+     */
+    @Query("SELECT t FROM Topic t JOIN FETCH t.semester JOIN FETCH t.supervisor WHERE t.registeredTeams <> " +
+            "(SELECT COUNT(r) FROM Registration r WHERE r.topic = t AND r.status IN :statuses)")
+    List<Topic> findWithSlotDrift(@Param("statuses") List<RegistrationStatus> statuses);
+
+    @Modifying
+    @Query("UPDATE Topic t SET t.registeredTeams = (SELECT COUNT(r) FROM Registration r WHERE r.topic = t AND r.status IN :statuses) " +
+            "WHERE t.id IN :topicIds")
+    int syncRegisteredTeams(@Param("topicIds") List<Long> topicIds, @Param("statuses") List<RegistrationStatus> statuses);
 }
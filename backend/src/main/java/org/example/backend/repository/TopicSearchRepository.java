@@ -0,0 +1,15 @@
+package org.example.backend.repository;
+
+import org.example.backend.dto.TopicSearchQuery;
+import org.example.backend.dto.TopicSummary;
+
+import java.util.List;
+
+public interface TopicSearchRepository {
+
+    /**
+     * Keyset search: returns up to limit rows positioned strictly after (afterValue, afterId)
+     * in the query's sort order, or from the start when afterId is null
+     */
+    List<TopicSummary> search(TopicSearchQuery query, Comparable<?> afterValue, Long afterId, int limit);
+}
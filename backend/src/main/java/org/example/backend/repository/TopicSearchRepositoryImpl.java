@@ -0,0 +1,99 @@
+package org.example.backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.backend.dto.TopicSearchQuery;
+import org.example.backend.dto.TopicSummary;
+import org.example.backend.entity.Topic;
+import org.example.backend.entity.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TopicSearchRepositoryImpl implements TopicSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TopicSummary> search(TopicSearchQuery query, Comparable<?> afterValue, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TopicSummary> cq = cb.createQuery(TopicSummary.class);
+        Root<Topic> topic = cq.from(Topic.class);
+        Join<Topic, User> supervisor = topic.join("supervisor");
+
+        // Chỉ lấy các cột NVARCHAR(MAX) khi được yêu cầu
+        Expression<String> description = query.includeDetails()
+                ? topic.get("description") : cb.nullLiteral(String.class);
+        Expression<String> requirements = query.includeDetails()
+                ? topic.get("requirements") : cb.nullLiteral(String.class);
+
+        cq.select(cb.construct(TopicSummary.class,
+                topic.get("id"),
+                topic.get("code"),
+                topic.get("titleEn"),
+                topic.get("titleVi"),
+                topic.get("status"),
+                topic.get("version"),
+                topic.get("maxTeams"),
+                cb.diff(topic.<Integer>get("maxTeams"), topic.<Integer>get("registeredTeams")),
+                supervisor.get("id"),
+                supervisor.get("fullName"),
+                topic.get("semester").get("id"),
+                topic.get("createdAt"),
+                topic.get("updatedAt"),
+                description,
+                requirements));
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (query.semesterId() != null) {
+            predicates.add(cb.equal(topic.get("semester").get("id"), query.semesterId()));
+        }
+        if (query.status() != null) {
+            predicates.add(cb.equal(topic.get("status"), query.status()));
+        }
+        if (query.supervisorId() != null) {
+            predicates.add(cb.equal(supervisor.get("id"), query.supervisorId()));
+        }
+        if (query.codePattern() != null) {
+            predicates.add(cb.like(topic.get("code"), query.codePattern()));
+        }
+
+        Path<Comparable<Object>> sortPath = topic.get(query.sortBy().getAttribute());
+        Path<Long> idPath = topic.get("id");
+        if (afterId != null) {
+            predicates.add(after(cb, sortPath, idPath, afterValue, afterId, query.ascending()));
+        }
+
+        cq.where(predicates.toArray(new Predicate[0]));
+        // id làm tie-breaker để thứ tự luôn xác định
+        List<Order> orders = query.ascending()
+                ? List.of(cb.asc(sortPath), cb.asc(idPath))
+                : List.of(cb.desc(sortPath), cb.desc(idPath));
+        cq.orderBy(orders);
+
+        return entityManager.createQuery(cq)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Predicate after(CriteriaBuilder cb, Path<Comparable<Object>> sortPath, Path<Long> idPath,
+            Comparable<?> afterValue, Long afterId, boolean ascending) {
+        Comparable<Object> value = (Comparable<Object>) afterValue;
+        if (ascending) {
+            return cb.or(cb.greaterThan(sortPath, value),
+                    cb.and(cb.equal(sortPath, value), cb.greaterThan(idPath, afterId)));
+        }
+        return cb.or(cb.lessThan(sortPath, value),
+                cb.and(cb.equal(sortPath, value), cb.lessThan(idPath, afterId)));
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.backend.repository;
+
+import org.example.backend.entity.Topic;
+import org.example.backend.entity.TopicSignature;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TopicSignatureRepository extends JpaRepository<TopicSignature, Long> {
+
+    /**
+     * Current signatures (matching the topic's version) as [topicId, code, signature], ordered by topic id
+     */
+    @Query("SELECT s.topicId, t.code, s.signature FROM TopicSignature s JOIN Topic t ON t.id = s.topicId " +
+            "WHERE s.topicId > :afterId AND s.topicVersion = t.version ORDER BY s.topicId")
+    List<Object[]> findCurrentAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT t FROM Topic t WHERE t.id > :afterId AND NOT EXISTS " +
+            "(SELECT 1 FROM TopicSignature s WHERE s.topicId = t.id AND s.topicVersion = t.version) ORDER BY t.id")
+    List<Topic> findTopicsWithoutSignatureAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
@@ -3,6 +3,8 @@ package org.example.backend.repository;
 import org.example.backend.entity.User;
 import org.example.backend.enums.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,7 +19,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     List<User> findByRole(UserRole role);
 
+    long countByRole(UserRole role);
+
     List<User> findByDepartment(String department);
 
+    /**
+     * [userId, department] of every user with the role
+     */
+    @Query("SELECT u.id, u.department FROM User u WHERE u.role = :role")
+    List<Object[]> findIdAndDepartmentByRole(@Param("role") UserRole role);
+
     Optional<User> findByStudentCode(String studentCode);
 }
\ No newline at end of file
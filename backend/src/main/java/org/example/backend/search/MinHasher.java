@@ -0,0 +1,89 @@
+package org.example.backend.search;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * MinHash signatures over word shingles (single words and word pairs).
+ * The fraction of equal positions in two signatures estimates the Jaccard
+ * similarity of their shingle sets. Hash coefficients come from a fixed seed,
+ * so signatures stay comparable across restarts.
+ */
+public final class MinHasher {
+
+    public static final int SIGNATURE_LENGTH = 128;
+
+    private static final long PRIME = 2147483647L; // 2^31 - 1
+    private static final long SEED = 20260101L;
+
+    private static final long[] A = new long[SIGNATURE_LENGTH];
+    private static final long[] B = new long[SIGNATURE_LENGTH];
+
+    static {
+        Random random = new Random(SEED);
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            A[i] = 1 + random.nextInt((int) PRIME - 1);
+            B[i] = random.nextInt((int) PRIME);
+        }
+    }
+
+    private MinHasher() {
+    }
+
+    /**
+     * @return the signature, or null when the text has no usable words
+     */
+    public static int[] signature(String text) {
+        List<String> tokens = TextAnalyzer.tokenize(text);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+
+        Set<Integer> shingles = new HashSet<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            shingles.add(mix(tokens.get(i).hashCode()));
+            if (i + 1 < tokens.size()) {
+                shingles.add(mix((tokens.get(i) + ' ' + tokens.get(i + 1)).hashCode()));
+            }
+        }
+
+        int[] signature = new int[SIGNATURE_LENGTH];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (int shingle : shingles) {
+            long x = shingle & 0x7fffffffL;
+            for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+                int hash = (int) ((A[i] * x + B[i]) % PRIME);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Estimated Jaccard similarity (0..1) of two signatures
+     */
+    public static double similarity(int[] first, int[] second) {
+        int equal = 0;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            if (first[i] == second[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIGNATURE_LENGTH;
+    }
+
+    // Murmur3 finalizer, spreads String.hashCode bits before hashing
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
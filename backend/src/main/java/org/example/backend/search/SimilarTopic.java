@@ -0,0 +1,7 @@
+package org.example.backend.search;
+
+/**
+ * A past topic close to the one being checked; score is 0-100 (estimated overlap)
+ */
+public record SimilarTopic(Long topicId, String code, double score) {
+}
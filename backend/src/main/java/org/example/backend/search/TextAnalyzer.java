@@ -0,0 +1,46 @@
+package org.example.backend.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Turns topic text into search terms: lower case, Vietnamese diacritics folded
+ * ("Hệ thống" -> "he", "thong"), split on anything that is not a letter or digit.
+ */
+public final class TextAnalyzer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    // Từ phổ biến, không giúp phân biệt đề tài (đã bỏ dấu)
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "and", "for", "with", "of", "to", "in", "on", "an", "is", "are", "by", "from", "using",
+            "va", "cua", "cho", "cac", "la", "voi", "trong", "mot", "nhung", "duoc");
+
+    private TextAnalyzer() {
+    }
+
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        // đ/Đ không tách dấu khi chuẩn hoá NFD nên phải thay riêng
+        String replaced = text.replace('đ', 'd').replace('Đ', 'D');
+        String decomposed = Normalizer.normalize(replaced, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(fold(text))) {
+            if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
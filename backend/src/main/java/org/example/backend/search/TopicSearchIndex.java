@@ -0,0 +1,255 @@
+package org.example.backend.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.dto.TopicSearchHit;
+import org.example.backend.entity.Topic;
+import org.example.backend.enums.TopicStatus;
+import org.example.backend.event.TopicChangedEvent;
+import org.example.backend.repository.TopicRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over topic titles, description and requirements.
+ * Built once at startup, then kept current by TopicService (text changes) and
+ * TopicChangedEvent (status changes and deletes, taken from the event itself),
+ * so keyword search never scans the topics table.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TopicSearchIndex {
+
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float REQUIREMENTS_WEIGHT = 1.5f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+    private static final float PREFIX_MATCH_BOOST = 0.5f;
+    private static final int MAX_PREFIX_EXPANSION = 50;
+    private static final float TF_SATURATION = 1.2f;
+
+    private final TopicRepository topicRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // term -> (topicId -> trọng số tần suất)
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, IndexedTopic> documents = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<IndexedTopic> analyzed = topicRepository.findAll().stream()
+                .map(this::analyze)
+                .toList();
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            analyzed.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Topic search index built: {} topics, {} terms", analyzed.size(), postings.size());
+    }
+
+    /**
+     * (Re)index a topic once the current transaction commits
+     */
+    public void indexAfterCommit(Topic topic) {
+        IndexedTopic document = analyze(topic);
+        runAfterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                put(document);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTopicChanged(TopicChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.isDeleted()) {
+                remove(event.topicId());
+                return;
+            }
+            IndexedTopic document = documents.get(event.topicId());
+            if (document != null && document.status() != event.status()) {
+                documents.put(document.id(), document.withStatus(event.status()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked keyword search. The last query word also matches as a prefix so
+     * partially typed words still find results.
+     */
+    public List<TopicSearchHit> search(String query, Long semesterId, TopicStatus status, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TextAnalyzer.tokenize(query)));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Float> scores = new HashMap<>();
+        Map<Long, Integer> matchedTerms = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            int totalDocuments = Math.max(1, documents.size());
+            for (int i = 0; i < terms.size(); i++) {
+                String term = terms.get(i);
+                Map<String, Map<Long, Float>> candidates = i == terms.size() - 1
+                        ? expandPrefix(term)
+                        : postings.containsKey(term) ? Map.of(term, postings.get(term)) : Map.of();
+
+                Set<Long> matchedByTerm = new HashSet<>();
+                for (Map.Entry<String, Map<Long, Float>> candidate : candidates.entrySet()) {
+                    Map<Long, Float> posting = candidate.getValue();
+                    float idf = (float) Math.log(1 + (double) totalDocuments / posting.size());
+                    float boost = candidate.getKey().equals(term) ? 1.0f : PREFIX_MATCH_BOOST;
+
+                    for (Map.Entry<Long, Float> entry : posting.entrySet()) {
+                        IndexedTopic document = documents.get(entry.getKey());
+                        if (!matches(document, semesterId, status)) {
+                            continue;
+                        }
+                        float tf = entry.getValue();
+                        scores.merge(document.id(), boost * idf * tf / (tf + TF_SATURATION), Float::sum);
+                        matchedByTerm.add(document.id());
+                    }
+                }
+                matchedByTerm.forEach(id -> matchedTerms.merge(id, 1, Integer::sum));
+            }
+
+            // Topics matching more of the query words rank higher
+            return scores.entrySet().stream()
+                    .map(entry -> {
+                        IndexedTopic document = documents.get(entry.getKey());
+                        double coverage = (double) matchedTerms.get(entry.getKey()) / terms.size();
+                        return new TopicSearchHit(document.id(), document.code(), document.titleEn(),
+                                document.titleVi(), document.status(), document.semesterId(),
+                                entry.getValue() * coverage);
+                    })
+                    .sorted(Comparator.comparingDouble(TopicSearchHit::score).reversed()
+                            .thenComparing(TopicSearchHit::code))
+                    .limit(limit)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private IndexedTopic analyze(Topic topic) {
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, topic.getTitleEn(), TITLE_WEIGHT);
+        addField(weights, topic.getTitleVi(), TITLE_WEIGHT);
+        addField(weights, topic.getRequirements(), REQUIREMENTS_WEIGHT);
+        addField(weights, topic.getDescription(), DESCRIPTION_WEIGHT);
+        addField(weights, topic.getCode(), TITLE_WEIGHT);
+
+        return new IndexedTopic(topic.getId(), topic.getCode(), topic.getTitleEn(), topic.getTitleVi(),
+                topic.getStatus(), topic.getSemester().getId(), Map.copyOf(weights));
+    }
+
+    private void addField(Map<String, Float> weights, String text, float weight) {
+        for (String token : TextAnalyzer.tokenize(text)) {
+            weights.merge(token, weight, Float::sum);
+        }
+    }
+
+    // Caller holds the write lock
+    private void put(IndexedTopic document) {
+        remove(document.id());
+        documents.put(document.id(), document);
+        document.termWeights().forEach((term, weight) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(document.id(), weight));
+    }
+
+    // Caller holds the write lock
+    private void remove(Long topicId) {
+        IndexedTopic previous = documents.remove(topicId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.termWeights().keySet()) {
+            Map<Long, Float> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(topicId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    // Caller holds the read lock
+    private Map<String, Map<Long, Float>> expandPrefix(String prefix) {
+        Map<String, Map<Long, Float>> expanded = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Float>> entry : postings.tailMap(prefix, true).entrySet()) {
+            if (!entry.getKey().startsWith(prefix) || expanded.size() == MAX_PREFIX_EXPANSION) {
+                break;
+            }
+            expanded.put(entry.getKey(), entry.getValue());
+        }
+        return expanded;
+    }
+
+    private boolean matches(IndexedTopic document, Long semesterId, TopicStatus status) {
+        return document != null
+                && (semesterId == null || semesterId.equals(document.semesterId()))
+                && (status == null || status == document.status());
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record IndexedTopic(Long id, String code, String titleEn, String titleVi, TopicStatus status,
+            Long semesterId, Map<String, Float> termWeights) {
+
+        IndexedTopic withStatus(TopicStatus newStatus) {
+            return new IndexedTopic(id, code, titleEn, titleVi, newStatus, semesterId, termWeights);
+        }
+    }
+}
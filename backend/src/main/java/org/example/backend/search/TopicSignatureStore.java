@@ -0,0 +1,181 @@
+package org.example.backend.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.entity.Topic;
+import org.example.backend.entity.TopicSignature;
+import org.example.backend.repository.TopicSignatureRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Keeps topic signatures in the topic_signatures table and loads them into
+ * TopicSimilarityIndex. Startup only schedules the load on a background thread,
+ * so boot time does not depend on how many topics are archived; topics that have
+ * no signature for their current version are computed once and stored.
+ */
+@Component
+@Slf4j
+public class TopicSignatureStore {
+
+    private final TopicSignatureRepository topicSignatureRepository;
+    private final TopicSimilarityIndex topicSimilarityIndex;
+    private final Executor taskExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${topic.similarity.load-page-size:1000}")
+    private int pageSize;
+
+    public TopicSignatureStore(TopicSignatureRepository topicSignatureRepository,
+            TopicSimilarityIndex topicSimilarityIndex,
+            @Qualifier("taskExecutor") Executor taskExecutor,
+            PlatformTransactionManager transactionManager) {
+        this.topicSignatureRepository = topicSignatureRepository;
+        this.topicSimilarityIndex = topicSimilarityIndex;
+        this.taskExecutor = taskExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        taskExecutor.execute(() -> {
+            try {
+                int loaded = loadStored();
+                int computed = backfillMissing();
+                log.info("Topic similarity index warmed: {} stored signatures, {} computed", loaded, computed);
+            } catch (Exception e) {
+                log.error("Failed to warm topic similarity index", e);
+            } finally {
+                topicSimilarityIndex.markReady();
+            }
+        });
+    }
+
+    /**
+     * Store the signature of the topic's current version; the index is updated once the transaction commits
+     */
+    public void save(Topic topic) {
+        int[] signature = TopicSimilarityIndex.signatureOf(topic);
+        if (signature != null) {
+            saveAll(List.of(topic), List.of(signature));
+        }
+    }
+
+    /**
+     * Store already computed signatures (signatures.get(i) belongs to topics.get(i))
+     * with one lookup and batched writes; must run inside a transaction
+     */
+    public void saveAll(List<Topic> topics, List<int[]> signatures) {
+        if (topics.isEmpty()) {
+            return;
+        }
+        Map<Long, TopicSignature> existing = new HashMap<>();
+        List<Long> topicIds = topics.stream().map(Topic::getId).toList();
+        topicSignatureRepository.findAllById(topicIds).forEach(row -> existing.put(row.getTopicId(), row));
+
+        List<TopicSignature> rows = new ArrayList<>(topics.size());
+        for (int i = 0; i < topics.size(); i++) {
+            Topic topic = topics.get(i);
+            TopicSignature row = existing.getOrDefault(topic.getId(),
+                    TopicSignature.builder().topicId(topic.getId()).build());
+            row.setTopicVersion(topic.getVersion());
+            row.setSignature(encode(signatures.get(i)));
+            rows.add(row);
+        }
+        topicSignatureRepository.saveAll(rows);
+
+        runAfterCommit(() -> {
+            for (int i = 0; i < topics.size(); i++) {
+                topicSimilarityIndex.put(topics.get(i).getId(), topics.get(i).getCode(), signatures.get(i));
+            }
+        });
+    }
+
+    public void delete(Long topicId) {
+        if (topicSignatureRepository.existsById(topicId)) {
+            topicSignatureRepository.deleteById(topicId);
+        }
+    }
+
+    private int loadStored() {
+        int loaded = 0;
+        long afterId = 0;
+        List<Object[]> page;
+        do {
+            page = topicSignatureRepository.findCurrentAfter(afterId, PageRequest.of(0, pageSize));
+            for (Object[] row : page) {
+                int[] signature = decode((byte[]) row[2]);
+                if (signature != null) {
+                    topicSimilarityIndex.put((Long) row[0], (String) row[1], signature);
+                    loaded++;
+                }
+                afterId = (Long) row[0];
+            }
+        } while (page.size() == pageSize);
+        return loaded;
+    }
+
+    private int backfillMissing() {
+        int computed = 0;
+        long afterId = 0;
+        List<Topic> page;
+        do {
+            page = topicSignatureRepository.findTopicsWithoutSignatureAfter(afterId, PageRequest.of(0, pageSize));
+            List<Topic> signed = new ArrayList<>(page.size());
+            List<int[]> signatures = new ArrayList<>(page.size());
+            for (Topic topic : page) {
+                int[] signature = TopicSimilarityIndex.signatureOf(topic);
+                if (signature != null) {
+                    signed.add(topic);
+                    signatures.add(signature);
+                }
+                afterId = topic.getId();
+            }
+            transactionTemplate.executeWithoutResult(status -> saveAll(signed, signatures));
+            computed += signed.size();
+        } while (page.size() == pageSize);
+        return computed;
+    }
+
+    static byte[] encode(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(signature.length * Integer.BYTES);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    static int[] decode(byte[] bytes) {
+        if (bytes == null || bytes.length != MinHasher.SIGNATURE_LENGTH * Integer.BYTES) {
+            return null; // Chữ ký cũ / sai định dạng, sẽ được tính lại khi kiểm tra
+        }
+        int[] signature = new int[MinHasher.SIGNATURE_LENGTH];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
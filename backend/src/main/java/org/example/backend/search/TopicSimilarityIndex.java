@@ -0,0 +1,285 @@
+package org.example.backend.search;
+
+import org.example.backend.entity.Topic;
+import org.example.backend.event.TopicChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Near-duplicate lookup for topics using MinHash signatures and locality
+ * sensitive hashing. Signatures live in one flat int[] (one row per topic);
+ * each signature is split into bands and only topics sharing at least one band
+ * bucket are compared, so a lookup does not grow with the whole archive. Candidates
+ * are then re-scored on the full signature and dropped below the caller's threshold.
+ * Loaded and persisted by TopicSignatureStore.
+ */
+@Component
+public class TopicSimilarityIndex {
+
+    // 42 bands x 3 rows (126 of 128 values): a pair becomes a candidate with probability
+    // 1 - (1 - s^3)^42, so the S-curve turns at (1/42)^(1/3) ~ 29%. That is ~94% at 40% and
+    // ~99.6% at 50%, but only ~4% of pairs at 10% and ~29% at 20% still have to be re-scored
+    // (64 x 2 let 47% and 93% of those through)
+    static final int BANDS = 42;
+    static final int ROWS_PER_BAND = 3;
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int INITIAL_BUCKET_CAPACITY = 4;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int[] signatures = new int[INITIAL_CAPACITY * MinHasher.SIGNATURE_LENGTH];
+    private long[] topicIds = new long[INITIAL_CAPACITY];
+    private String[] codes = new String[INITIAL_CAPACITY];
+    private int slotCount;
+    private final BitSet freeSlots = new BitSet();
+    private final Map<Long, Integer> slotByTopic = new HashMap<>();
+    // (band, band hash) -> slots
+    private final Map<Long, Bucket> buckets = new HashMap<>();
+    private final CountDownLatch ready = new CountDownLatch(1);
+
+    /**
+     * Called by TopicSignatureStore once stored signatures are loaded
+     */
+    public void markReady() {
+        ready.countDown();
+    }
+
+    /**
+     * Wait for the startup load so early checks do not miss archived topics
+     *
+     * @return false if the index is still loading after the timeout
+     */
+    public boolean awaitReady(long timeoutSeconds) {
+        try {
+            return ready.await(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public static int[] signatureOf(Topic topic) {
+        return MinHasher.signature(String.join(" ",
+                nullToEmpty(topic.getTitleEn()),
+                nullToEmpty(topic.getTitleVi()),
+                nullToEmpty(topic.getDescription())));
+    }
+
+    /**
+     * Add or replace the signature of a topic
+     */
+    public void put(Long topicId, String code, int[] signature) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = slotByTopic.get(topicId);
+            int slot;
+            if (existing != null) {
+                slot = existing;
+                removeFromBuckets(slot);
+            } else {
+                slot = allocateSlot();
+                slotByTopic.put(topicId, slot);
+            }
+            topicIds[slot] = topicId;
+            codes[slot] = code;
+            System.arraycopy(signature, 0, signatures, slot * MinHasher.SIGNATURE_LENGTH, MinHasher.SIGNATURE_LENGTH);
+            addToBuckets(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long topicId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotByTopic.remove(topicId);
+            if (slot != null) {
+                removeFromBuckets(slot);
+                codes[slot] = null;
+                freeSlots.set(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Top-k most similar topics to the given signature scoring at least minScore (percent),
+     * excluding the topic itself
+     */
+    public List<SimilarTopic> findSimilar(Long topicId, int[] signature, double minScore, int limit) {
+        if (signature == null) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            BitSet candidates = candidatesOf(signature);
+
+            List<SimilarTopic> matches = new ArrayList<>();
+            for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                if (topicIds[slot] == topicId) {
+                    continue;
+                }
+                double score = Math.round(similarityAt(signature, slot) * 1000) / 10.0;
+                if (score >= minScore) {
+                    matches.add(new SimilarTopic(topicIds[slot], codes[slot], score));
+                }
+            }
+            matches.sort(Comparator.comparingDouble(SimilarTopic::score).reversed());
+            return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed topics sharing a band bucket with the signature, before re-scoring
+     */
+    int candidateCount(int[] signature) {
+        lock.readLock().lock();
+        try {
+            return candidatesOf(signature).cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(Long topicId) {
+        lock.readLock().lock();
+        try {
+            return slotByTopic.containsKey(topicId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotByTopic.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTopicChanged(TopicChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.topicId());
+        }
+    }
+
+    // Caller holds the read or write lock
+    private BitSet candidatesOf(int[] signature) {
+        BitSet candidates = new BitSet(slotCount);
+        for (int band = 0; band < BANDS; band++) {
+            Bucket bucket = buckets.get(bucketKey(band, bandHash(signature, 0, band)));
+            if (bucket != null) {
+                for (int i = 0; i < bucket.size; i++) {
+                    candidates.set(bucket.slots[i]);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    // Caller holds the write lock
+    private int allocateSlot() {
+        int free = freeSlots.nextSetBit(0);
+        if (free >= 0) {
+            freeSlots.clear(free);
+            return free;
+        }
+        if (slotCount == topicIds.length) {
+            int capacity = topicIds.length * 2;
+            signatures = Arrays.copyOf(signatures, capacity * MinHasher.SIGNATURE_LENGTH);
+            topicIds = Arrays.copyOf(topicIds, capacity);
+            codes = Arrays.copyOf(codes, capacity);
+        }
+        return slotCount++;
+    }
+
+    // Caller holds the write lock
+    private void addToBuckets(int slot) {
+        int offset = slot * MinHasher.SIGNATURE_LENGTH;
+        for (int band = 0; band < BANDS; band++) {
+            buckets.computeIfAbsent(bucketKey(band, bandHash(signatures, offset, band)), key -> new Bucket()).add(slot);
+        }
+    }
+
+    // Caller holds the write lock
+    private void removeFromBuckets(int slot) {
+        int offset = slot * MinHasher.SIGNATURE_LENGTH;
+        for (int band = 0; band < BANDS; band++) {
+            long key = bucketKey(band, bandHash(signatures, offset, band));
+            Bucket bucket = buckets.get(key);
+            if (bucket != null && bucket.remove(slot) && bucket.size == 0) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    private double similarityAt(int[] signature, int slot) {
+        int offset = slot * MinHasher.SIGNATURE_LENGTH;
+        int equal = 0;
+        for (int i = 0; i < MinHasher.SIGNATURE_LENGTH; i++) {
+            if (signatures[offset + i] == signature[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / MinHasher.SIGNATURE_LENGTH;
+    }
+
+    private static int bandHash(int[] source, int offset, int band) {
+        int hash = 1;
+        int start = offset + band * ROWS_PER_BAND;
+        for (int i = start; i < start + ROWS_PER_BAND; i++) {
+            hash = 31 * hash + source[i];
+        }
+        return hash;
+    }
+
+    private static long bucketKey(int band, int hash) {
+        return ((long) band << 32) | (hash & 0xffffffffL);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    /**
+     * Slots of one band bucket; grows by doubling, removal swaps in the last slot
+     */
+    private static final class Bucket {
+        private int[] slots = new int[INITIAL_BUCKET_CAPACITY];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        boolean remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    slots[i] = slots[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
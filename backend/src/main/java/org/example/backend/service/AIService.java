@@ -3,10 +3,17 @@ package org.example.backend.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.backend.entity.Topic;
-import org.springframework.scheduling.annotation.Async;
+import org.example.backend.enums.TopicStatus;
+import org.example.backend.exception.TopicVersionChangedException;
+import org.example.backend.llm.LlmComplianceReviewer;
+import org.example.backend.llm.LlmReviewRequest;
+import org.example.backend.search.SimilarTopic;
+import org.example.backend.search.TopicSimilarityIndex;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 /**
  * AI Service for OpenAI integration
@@ -17,26 +24,48 @@ import java.util.concurrent.CompletableFuture;
 @Slf4j
 public class AIService {
 
+    static final int SIMILAR_TOPICS_LIMIT = 5;
+    static final double SIMILARITY_REPORT_THRESHOLD = 30.0; // Chỉ liệt kê đề tài giống từ 30% trở lên
+    static final int REVIEWERS_PER_TOPIC = 2;
+    private static final long SIMILARITY_INDEX_WAIT_SECONDS = 60;
+    private static final String LLM_REVIEW_FIELD = "llm";
+    private static final int MAX_LLM_FEEDBACK_LENGTH = 500;
+
     private final TopicService topicService;
     private final ReviewService reviewService;
+    private final TopicSimilarityIndex topicSimilarityIndex;
+    private final ComplianceResultCache complianceResultCache;
+    private final LlmComplianceReviewer llmComplianceReviewer;
 
     /**
-     * Asynchronously process topic with AI checks
+     * Process topic with AI checks (run by ScreeningJobService workers).
+     * Throws TopicVersionChangedException when the topic is no longer on topicVersion.
      */
-    @Async
-    public CompletableFuture<Topic> processTopicAsync(Long topicId) {
+    public Topic processTopic(Long topicId, Integer topicVersion) {
         log.info("Starting AI processing for topic: {}", topicId);
 
         try {
+            Topic topic = topicService.findById(topicId)
+                    .orElseThrow(() -> new RuntimeException("Topic not found"));
+            if (!topic.getVersion().equals(topicVersion)) {
+                throw new TopicVersionChangedException("Topic " + topic.getCode() + " was resubmitted");
+            }
+            if (topic.getStatus() == TopicStatus.AI_PASSED) {
+                // Retry: AI checks already passed, only reviewer assignment failed last time
+                reviewService.assignReviewers(topicId, REVIEWERS_PER_TOPIC);
+                return topic;
+            }
+
             // AI Check 1: Compliance Check
-            ComplianceResult complianceResult = performComplianceCheck(topicId);
+            ComplianceResult complianceResult = checkCompliance(topic);
 
             // AI Check 2: Similarity Check
-            SimilarityResult similarityResult = performSimilarityCheck(topicId);
+            SimilarityResult similarityResult = performSimilarityCheck(topic);
 
             // Update topic with AI results
             Topic updatedTopic = topicService.updateAIResults(
                     topicId,
+                    topicVersion,
                     complianceResult.passed(),
                     complianceResult.feedback(),
                     similarityResult.score(),
@@ -45,12 +74,14 @@ public class AIService {
             // If passed, assign reviewers
             if (updatedTopic.getAiCompliancePass() &&
                     (updatedTopic.getAiSimilarityScore() == null || updatedTopic.getAiSimilarityScore() < 80)) {
-                reviewService.assignReviewers(topicId, 2);
+                reviewService.assignReviewers(topicId, REVIEWERS_PER_TOPIC);
             }
 
             log.info("AI processing completed for topic: {}", topicId);
-            return CompletableFuture.completedFuture(updatedTopic);
+            return updatedTopic;
 
+        } catch (TopicVersionChangedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("AI processing failed for topic: {}", topicId, e);
             throw new RuntimeException("AI processing failed", e);
@@ -61,82 +92,158 @@ public class AIService {
      * AI Check 1: Compliance Check
      * Validates topic format and content requirements
      */
-    private ComplianceResult performComplianceCheck(Long topicId) {
-        Topic topic = topicService.findById(topicId)
-                .orElseThrow(() -> new RuntimeException("Topic not found"));
+    ComplianceResult checkCompliance(Topic topic) {
+        // Rule checks are cheap string checks and run every time; only the LLM verdict is cached
+        List<ComplianceResult> fieldResults = List.of(
+                checkDescription(topic.getDescription()),
+                checkRequirements(topic.getRequirements()),
+                checkTitleEn(topic.getTitleEn()),
+                checkTitleVi(topic.getTitleVi()));
 
         StringBuilder feedback = new StringBuilder();
         boolean passed = true;
+        for (ComplianceResult fieldResult : fieldResults) {
+            if (!fieldResult.passed()) {
+                feedback.append(fieldResult.feedback());
+                passed = false;
+            }
+        }
 
-        // Check description length
-        if (topic.getDescription() == null || topic.getDescription().length() < 200) {
-            feedback.append("- Description must be at least 200 characters.\n");
-            passed = false;
-        } else if (topic.getDescription().length() > 2000) {
-            feedback.append("- Description should not exceed 2000 characters.\n");
-            passed = false;
+        // Content review by the LLM, only available if prefetchLlmReview has completed for this content
+        if (passed && llmComplianceReviewer.isEnabled()) {
+            ComplianceResult llmResult = complianceResultCache
+                    .find(LLM_REVIEW_FIELD, llmReviewRequest(topic).contentKey())
+                    .orElse(null);
+            if (llmResult != null && !llmResult.passed()) {
+                feedback.append(llmResult.feedback());
+                passed = false;
+            }
         }
 
-        // Check requirements
-        if (topic.getRequirements() == null || topic.getRequirements().isEmpty()) {
-            feedback.append("- Technical requirements must be specified.\n");
-            passed = false;
+        if (passed) {
+            feedback.append("Topic meets all compliance requirements.");
         }
 
-        // Check titles
-        if (topic.getTitleEn() == null || topic.getTitleEn().length() < 10) {
-            feedback.append("- English title must be at least 10 characters.\n");
-            passed = false;
+        return new ComplianceResult(passed, feedback.toString());
+    }
+
+    /**
+     * Ask the LLM to review the topic content and cache its verdict for checkCompliance.
+     * Never fails: if the model is disabled, unavailable or too slow the future
+     * completes anyway and compliance falls back to the rule checks.
+     */
+    public CompletableFuture<Void> prefetchLlmReview(Topic topic) {
+        if (!llmComplianceReviewer.isEnabled()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        LlmReviewRequest request = llmReviewRequest(topic);
+        try {
+            if (complianceResultCache.find(LLM_REVIEW_FIELD, request.contentKey()).isPresent()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return llmComplianceReviewer.review(request)
+                    .thenAccept(verdict -> verdict.ifPresent(result -> complianceResultCache.put(
+                            LLM_REVIEW_FIELD, request.contentKey(),
+                            new ComplianceResult(result.passed(), llmFeedback(result.feedback())))))
+                    .exceptionally(e -> {
+                        log.warn("Could not store LLM review of topic {}", topic.getId(), e);
+                        return null;
+                    });
+        } catch (Exception e) {
+            log.warn("LLM review of topic {} skipped", topic.getId(), e);
+            return CompletableFuture.completedFuture(null);
         }
+    }
+
+    private static LlmReviewRequest llmReviewRequest(Topic topic) {
+        return new LlmReviewRequest(topic.getTitleEn(), topic.getTitleVi(), topic.getDescription(),
+                topic.getRequirements());
+    }
 
-        if (topic.getTitleVi() == null || topic.getTitleVi().length() < 10) {
-            feedback.append("- Vietnamese title must be at least 10 characters.\n");
-            passed = false;
+    private static String llmFeedback(String feedback) {
+        String text = feedback == null || feedback.isBlank() ? "Content review did not pass." : feedback.strip();
+        if (text.length() > MAX_LLM_FEEDBACK_LENGTH) {
+            text = text.substring(0, MAX_LLM_FEEDBACK_LENGTH);
         }
+        return "- " + text + "\n";
+    }
 
-        if (passed) {
-            feedback.append("Topic meets all compliance requirements.");
+    // Check description length
+    private ComplianceResult checkDescription(String description) {
+        if (description == null || description.length() < 200) {
+            return new ComplianceResult(false, "- Description must be at least 200 characters.\n");
+        } else if (description.length() > 2000) {
+            return new ComplianceResult(false, "- Description should not exceed 2000 characters.\n");
+        }
+        return new ComplianceResult(true, "");
+    }
+
+    // Check requirements
+    private ComplianceResult checkRequirements(String requirements) {
+        if (requirements == null || requirements.isEmpty()) {
+            return new ComplianceResult(false, "- Technical requirements must be specified.\n");
         }
+        return new ComplianceResult(true, "");
+    }
 
-        // TODO: Integrate with OpenAI API for advanced content analysis
-        // Example:
-        // String prompt = "Analyze the following capstone project proposal for clarity
-        // and feasibility: " + topic.getDescription();
-        // OpenAIResponse response = openAIClient.chat(prompt);
+    // Check titles
+    private ComplianceResult checkTitleEn(String titleEn) {
+        if (titleEn == null || titleEn.length() < 10) {
+            return new ComplianceResult(false, "- English title must be at least 10 characters.\n");
+        }
+        return new ComplianceResult(true, "");
+    }
 
-        return new ComplianceResult(passed, feedback.toString());
+    private ComplianceResult checkTitleVi(String titleVi) {
+        if (titleVi == null || titleVi.length() < 10) {
+            return new ComplianceResult(false, "- Vietnamese title must be at least 10 characters.\n");
+        }
+        return new ComplianceResult(true, "");
     }
 
     /**
      * AI Check 2: Similarity Check
-     * Compares topic with existing topics using embeddings
+     * Compares topic with existing topics using MinHash signatures
      */
-    private SimilarityResult performSimilarityCheck(Long topicId) {
-        Topic topic = topicService.findById(topicId)
-                .orElseThrow(() -> new RuntimeException("Topic not found"));
-
-        // TODO: Implement actual similarity check using OpenAI Embeddings
-        // Example workflow:
-        // 1. Generate embedding for current topic description
-        // 2. Compare with stored embeddings of past topics
-        // 3. Find topics with similarity > threshold
-        //
-        // List<Double> embedding =
-        // openAIClient.createEmbedding(topic.getDescription());
-        // List<SimilarTopic> similarities = vectorStore.findSimilar(embedding, 0.8);
-
-        // Placeholder implementation
+    private SimilarityResult performSimilarityCheck(Topic topic) {
         log.debug("Checking similarity for topic: {}", topic.getCode());
-        double similarityScore = 0.0; // No similarity for now
-        String details = "No similar topics found in the database.";
+
+        if (!topicSimilarityIndex.awaitReady(SIMILARITY_INDEX_WAIT_SECONDS)) {
+            log.warn("Similarity index still loading, checking topic {} against a partial archive", topic.getCode());
+        }
+
+        // MinHash/LSH over titles and description, compared with every indexed topic.
+        // The topic's own signature is stored by TopicService.updateAIResults.
+        int[] signature = TopicSimilarityIndex.signatureOf(topic);
+        return summarizeSimilarity(topicSimilarityIndex.findSimilar(topic.getId(), signature,
+                SIMILARITY_REPORT_THRESHOLD, SIMILAR_TOPICS_LIMIT));
+    }
+
+    /**
+     * Score and details from similar topics sorted by score (highest first)
+     */
+    SimilarityResult summarizeSimilarity(List<SimilarTopic> candidates) {
+        List<SimilarTopic> similarTopics = candidates.stream()
+                .filter(similar -> similar.score() >= SIMILARITY_REPORT_THRESHOLD)
+                .limit(SIMILAR_TOPICS_LIMIT)
+                .toList();
+
+        if (similarTopics.isEmpty()) {
+            return new SimilarityResult(0.0, "No similar topics found in the database.");
+        }
+
+        double similarityScore = similarTopics.get(0).score();
+        String details = "Similar topics: " + similarTopics.stream()
+                .map(similar -> similar.code() + " (" + similar.score() + "%)")
+                .collect(Collectors.joining(", "));
 
         return new SimilarityResult(similarityScore, details);
     }
 
     // Result records
-    private record ComplianceResult(boolean passed, String feedback) {
+    record ComplianceResult(boolean passed, String feedback) {
     }
 
-    private record SimilarityResult(double score, String details) {
+    record SimilarityResult(double score, String details) {
     }
 }
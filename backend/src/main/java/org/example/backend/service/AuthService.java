@@ -3,7 +3,9 @@ package org.example.backend.service;
 import lombok.RequiredArgsConstructor;
 import org.example.backend.entity.User;
 import org.example.backend.enums.UserRole;
+import org.example.backend.event.UserChangedEvent;
 import org.example.backend.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +18,7 @@ import java.util.Optional;
 public class AuthService {
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public User register(String email, String password, String fullName, UserRole role) {
         if (userRepository.existsByEmail(email)) {
@@ -29,7 +32,9 @@ public class AuthService {
                 .role(role)
                 .build();
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId()));
+        return savedUser;
     }
 
     public Optional<User> login(String email, String password) {
@@ -57,10 +62,13 @@ public class AuthService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         user.setRole(role);
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
+        return savedUser;
     }
 
     public void delete(Long id) {
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
     }
 }
\ No newline at end of file
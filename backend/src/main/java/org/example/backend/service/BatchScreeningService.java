@@ -0,0 +1,272 @@
+package org.example.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.dto.BatchScreeningSummary;
+import org.example.backend.dto.ScreeningResult;
+import org.example.backend.entity.Semester;
+import org.example.backend.entity.Topic;
+import org.example.backend.enums.TopicStatus;
+import org.example.backend.repository.ScreeningJobRepository;
+import org.example.backend.repository.SemesterRepository;
+import org.example.backend.repository.TopicRepository;
+import org.example.backend.search.MinHasher;
+import org.example.backend.search.SimilarTopic;
+import org.example.backend.search.TopicSimilarityIndex;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.IntStream;
+
+/**
+ * Screens every PROCESSING topic of a semester in one run, typically right after
+ * the topic submission window closes. Topics are loaded once, compliance and
+ * similarity (against the archive and against each other) are computed in
+ * parallel on a fork-join pool, then results and reviewer assignments are written
+ * in two bulk transactions. Scheduled runs are handed to their own executor so
+ * they never hold a scheduler thread.
+ */
+@Service
+@Slf4j
+public class BatchScreeningService {
+
+    private static final long SIMILARITY_INDEX_WAIT_SECONDS = 60;
+
+    private final TopicRepository topicRepository;
+    private final SemesterRepository semesterRepository;
+    private final ScreeningJobRepository screeningJobRepository;
+    private final TopicService topicService;
+    private final ReviewService reviewService;
+    private final AIService aiService;
+    private final TopicSimilarityIndex topicSimilarityIndex;
+    private final Executor batchScreeningExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${ai.screening.batch.parallelism:0}")
+    private int parallelism; // 0 = số CPU
+
+    @Value("${ai.screening.batch.auto-enabled:true}")
+    private boolean autoEnabled;
+
+    private final Set<Long> runningSemesters = ConcurrentHashMap.newKeySet();
+
+    public BatchScreeningService(TopicRepository topicRepository,
+            SemesterRepository semesterRepository,
+            ScreeningJobRepository screeningJobRepository,
+            TopicService topicService,
+            ReviewService reviewService,
+            AIService aiService,
+            TopicSimilarityIndex topicSimilarityIndex,
+            @Qualifier("batchScreeningExecutor") Executor batchScreeningExecutor,
+            PlatformTransactionManager transactionManager) {
+        this.topicRepository = topicRepository;
+        this.semesterRepository = semesterRepository;
+        this.screeningJobRepository = screeningJobRepository;
+        this.topicService = topicService;
+        this.reviewService = reviewService;
+        this.aiService = aiService;
+        this.topicSimilarityIndex = topicSimilarityIndex;
+        this.batchScreeningExecutor = batchScreeningExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Screen all PROCESSING topics of the semester
+     */
+    public BatchScreeningSummary screenSemester(Long semesterId) {
+        if (!runningSemesters.add(semesterId)) {
+            throw new RuntimeException("Batch screening is already running for this semester");
+        }
+        try {
+            return doScreen(semesterId);
+        } finally {
+            runningSemesters.remove(semesterId);
+        }
+    }
+
+    /**
+     * Queue a batch run for semesters whose submission window has closed but still have PROCESSING topics
+     */
+    @Scheduled(cron = "${ai.screening.batch.cron:0 */10 * * * *}")
+    public void screenClosedSemesters() {
+        if (!autoEnabled) {
+            return;
+        }
+        for (Long semesterId : topicRepository.findSemestersWithProcessingTopicsClosedBefore(LocalDateTime.now())) {
+            // Already queued or running
+            if (!runningSemesters.add(semesterId)) {
+                continue;
+            }
+            try {
+                batchScreeningExecutor.execute(() -> {
+                    try {
+                        doScreen(semesterId);
+                    } catch (Exception e) {
+                        log.error("Batch screening failed for semester {}", semesterId, e);
+                    } finally {
+                        runningSemesters.remove(semesterId);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                runningSemesters.remove(semesterId);
+                log.warn("Batch screening of semester {} not queued, executor is full", semesterId);
+            }
+        }
+    }
+
+    private BatchScreeningSummary doScreen(Long semesterId) {
+        long startedAt = System.currentTimeMillis();
+        Semester semester = semesterRepository.findById(semesterId)
+                .orElseThrow(() -> new RuntimeException("Semester not found"));
+
+        Claim claim = claimTopics(semester);
+        List<Topic> topics = claim.topics();
+        if (topics.isEmpty()) {
+            return new BatchScreeningSummary(semesterId, 0, 0, 0, 0, System.currentTimeMillis() - startedAt);
+        }
+        try {
+            return screenClaimed(semester, topics, startedAt);
+        } catch (RuntimeException e) {
+            // Trả việc lại cho hàng đợi từng đề tài; job chạy lại bỏ qua đề tài đã có kết quả
+            releaseClaim(claim);
+            throw e;
+        }
+    }
+
+    private BatchScreeningSummary screenClaimed(Semester semester, List<Topic> topics, long startedAt) {
+        if (!topicSimilarityIndex.awaitReady(SIMILARITY_INDEX_WAIT_SECONDS)) {
+            log.warn("Similarity index still loading, semester {} is screened against a partial archive", semester.getId());
+        }
+
+        // LLM reviews go out in multi-topic prompts; each call is bounded by its own timeout
+        CompletableFuture.allOf(topics.stream()
+                .map(aiService::prefetchLlmReview)
+                .toArray(CompletableFuture[]::new)).join();
+
+        List<ScreeningResult> results = compute(topics);
+        List<Topic> updated = topicService.updateAIResults(results);
+
+        List<Long> passedIds = updated.stream()
+                .filter(topic -> topic.getStatus() == TopicStatus.AI_PASSED)
+                .map(Topic::getId)
+                .toList();
+        List<Long> assignedIds = passedIds.isEmpty()
+                ? List.of()
+                : reviewService.assignReviewers(passedIds, AIService.REVIEWERS_PER_TOPIC);
+
+        BatchScreeningSummary summary = new BatchScreeningSummary(semester.getId(), updated.size(), passedIds.size(),
+                updated.size() - passedIds.size(), assignedIds.size(), System.currentTimeMillis() - startedAt);
+        log.info("Batch screening of semester {}: {}", semester.getCode(), summary);
+        return summary;
+    }
+
+    /**
+     * Load the semester's PROCESSING topics and take them away from the per-topic job queue
+     */
+    private Claim claimTopics(Semester semester) {
+        return transactionTemplate.execute(status -> {
+            List<Topic> processing = topicRepository.findBySemesterAndStatus(semester, TopicStatus.PROCESSING);
+            if (processing.isEmpty()) {
+                return new Claim(List.of(), List.of());
+            }
+            List<Long> ids = processing.stream().map(Topic::getId).toList();
+            // Đề tài đang được worker xử lý thì để worker làm tiếp
+            Set<Long> running = new HashSet<>(screeningJobRepository.findRunningTopicIds(ids));
+            List<Topic> claimed = processing.stream()
+                    .filter(topic -> !running.contains(topic.getId()))
+                    .toList();
+            List<Long> jobIds = claimed.isEmpty()
+                    ? List.of()
+                    : screeningJobRepository.findPendingJobIds(claimed.stream().map(Topic::getId).toList());
+            if (!jobIds.isEmpty()) {
+                screeningJobRepository.cancelPending(jobIds, LocalDateTime.now());
+            }
+            return new Claim(claimed, jobIds);
+        });
+    }
+
+    private void releaseClaim(Claim claim) {
+        if (claim.jobIds().isEmpty()) {
+            return;
+        }
+        try {
+            Integer requeued = transactionTemplate.execute(status ->
+                    screeningJobRepository.requeueCancelled(claim.jobIds(), LocalDateTime.now()));
+            log.info("Batch screening aborted, {} screening jobs requeued", requeued);
+        } catch (Exception e) {
+            log.error("Could not requeue screening jobs {}, PROCESSING topics are picked up again on restart", claim.jobIds(), e);
+        }
+    }
+
+    private List<ScreeningResult> compute(List<Topic> topics) {
+        // Earlier submissions win: a topic is only compared with batch topics submitted before it
+        List<Topic> ordered = new ArrayList<>(topics);
+        ordered.sort(Comparator.comparing(Topic::getSubmittedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(Topic::getId));
+        Set<Long> batchIds = new HashSet<>();
+        ordered.forEach(topic -> batchIds.add(topic.getId()));
+
+        ForkJoinPool pool = parallelism > 0 ? new ForkJoinPool(parallelism) : new ForkJoinPool();
+        try {
+            int[][] signatures = pool.submit(() -> ordered.parallelStream()
+                    .map(TopicSimilarityIndex::signatureOf)
+                    .toArray(int[][]::new)).get();
+
+            return pool.submit(() -> IntStream.range(0, ordered.size())
+                    .parallel()
+                    .mapToObj(i -> screen(ordered, signatures, i, batchIds))
+                    .toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Batch screening interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Batch screening failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private ScreeningResult screen(List<Topic> ordered, int[][] signatures, int index, Set<Long> batchIds) {
+        Topic topic = ordered.get(index);
+        int[] signature = signatures[index];
+        AIService.ComplianceResult compliance = aiService.checkCompliance(topic);
+
+        List<SimilarTopic> similar = new ArrayList<>();
+        if (signature != null) {
+            // Archive: stored signatures of batch topics may be from an older version, compared below instead
+            topicSimilarityIndex.findSimilar(topic.getId(), signature, AIService.SIMILARITY_REPORT_THRESHOLD,
+                            Integer.MAX_VALUE).stream()
+                    .filter(match -> !batchIds.contains(match.topicId()))
+                    .forEach(similar::add);
+            for (int other = 0; other < index; other++) {
+                if (signatures[other] != null) {
+                    double score = Math.round(MinHasher.similarity(signature, signatures[other]) * 1000) / 10.0;
+                    similar.add(new SimilarTopic(ordered.get(other).getId(), ordered.get(other).getCode(), score));
+                }
+            }
+            similar.sort(Comparator.comparingDouble(SimilarTopic::score).reversed());
+        }
+
+        AIService.SimilarityResult similarity = aiService.summarizeSimilarity(similar);
+        return new ScreeningResult(topic.getId(), compliance.passed(), compliance.feedback(),
+                similarity.score(), similarity.details(), signature);
+    }
+
+    private record Claim(List<Topic> topics, List<Long> jobIds) {
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.entity.ComplianceCacheEntry;
+import org.example.backend.repository.ComplianceCacheRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cache of LLM compliance verdicts keyed by a content hash.
+ * An in-memory LRU sits in front of the compliance_cache table, so a resubmitted
+ * topic is only sent to the LLM again if its content actually changed, also after a
+ * restart. Rows older than the retention period are purged in chunks.
+ * Only the LLM review is worth caching: it judges the fields together, so its key
+ * covers all reviewed fields, while the per-field rule checks are length checks
+ * that cost less than hashing the field. With the LLM disabled nothing is cached.
+ */
+@Component
+@Slf4j
+public class ComplianceResultCache {
+
+    // Tăng khi đổi quy tắc kiểm tra để bỏ qua kết quả cũ
+    private static final String RULES_VERSION = "1";
+
+    private static final int PURGE_CHUNK_SIZE = 1000;
+
+    private final ComplianceCacheRepository complianceCacheRepository;
+    private final Map<String, AIService.ComplianceResult> entries;
+
+    @Value("${ai.compliance-cache.retention-days:180}")
+    private int retentionDays;
+
+    public ComplianceResultCache(ComplianceCacheRepository complianceCacheRepository,
+            @Value("${ai.compliance-cache.max-entries:10000}") int maxEntries) {
+        this.complianceCacheRepository = complianceCacheRepository;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, AIService.ComplianceResult> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Cached result for the field content, if any
+     */
+    public Optional<AIService.ComplianceResult> find(String field, String content) {
+        String hash = hash(field, content);
+        Optional<AIService.ComplianceResult> result = lookup(hash);
+        result.ifPresent(found -> {
+            synchronized (entries) {
+                entries.put(hash, found);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Store a result computed elsewhere (e.g. an asynchronous LLM review)
+     */
+    public void put(String field, String content, AIService.ComplianceResult result) {
+        String hash = hash(field, content);
+        store(hash, field, result);
+        synchronized (entries) {
+            entries.put(hash, result);
+        }
+    }
+
+    private Optional<AIService.ComplianceResult> lookup(String hash) {
+        AIService.ComplianceResult cached;
+        synchronized (entries) {
+            cached = entries.get(hash);
+        }
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return complianceCacheRepository.findById(hash)
+                .map(entry -> new AIService.ComplianceResult(entry.getPassed(), entry.getFeedback()));
+    }
+
+    /**
+     * Delete cached verdicts created before the retention period, one chunk per transaction
+     */
+    @Scheduled(cron = "${ai.compliance-cache.purge-cron:0 45 2 * * *}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int total = 0;
+        List<String> hashes;
+        do {
+            hashes = complianceCacheRepository.findHashesCreatedBefore(cutoff, PageRequest.of(0, PURGE_CHUNK_SIZE));
+            if (!hashes.isEmpty()) {
+                complianceCacheRepository.deleteAllByIdInBatch(hashes);
+                synchronized (entries) {
+                    hashes.forEach(entries::remove);
+                }
+                total += hashes.size();
+            }
+        } while (hashes.size() == PURGE_CHUNK_SIZE);
+
+        if (total > 0) {
+            log.info("Compliance cache retention removed {} entries created before {}", total, cutoff);
+        }
+    }
+
+    private void store(String hash, String field, AIService.ComplianceResult result) {
+        try {
+            complianceCacheRepository.save(ComplianceCacheEntry.builder()
+                    .contentHash(hash)
+                    .field(field)
+                    .passed(result.passed())
+                    .feedback(result.feedback())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // Same content checked concurrently, the stored result is identical
+            log.debug("Compliance result for {} already stored", field);
+        }
+    }
+
+    private static String hash(String field, String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((field + '\u0000' + RULES_VERSION + '\u0000').getBytes(StandardCharsets.UTF_8));
+            // null và chuỗi rỗng cho kết quả khác nhau nên phải phân biệt
+            digest.update(content == null ? new byte[]{1} : ("\u0002" + content).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.repository.TeamRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.SecureRandom;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Team invite codes.
+ * A code is 8 Crockford base32 characters drawn from SecureRandom (40 bits), so codes
+ * cannot be derived from one another or from the source; joining a team requires its code.
+ * Codes are resolved through an in-memory code → teamId map loaded on startup.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InviteCodeService {
+
+    private static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ"; // Crockford base32
+    private static final int CODE_LENGTH = 8;
+
+    private final TeamRepository teamRepository;
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Long> teamIdsByCode = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (Object[] row : teamRepository.findAllInviteCodes()) {
+            teamIdsByCode.put((String) row[0], (Long) row[1]);
+        }
+        log.info("Loaded {} team invite codes", teamIdsByCode.size());
+    }
+
+    /**
+     * New random invite code not used by any team; the unique constraint on
+     * teams.invite_code still rejects the (negligible) case of two concurrent teams drawing the same code
+     */
+    public String nextCode() {
+        while (true) {
+            String code = randomCode();
+            if (!teamIdsByCode.containsKey(code) && !teamRepository.existsByInviteCode(code)) {
+                return code;
+            }
+        }
+    }
+
+    /**
+     * Team id of the code; the caller must still check the team's current code,
+     * since another instance may have changed it
+     */
+    public Optional<Long> resolve(String code) {
+        String normalized = normalize(code);
+        if (normalized == null) {
+            return Optional.empty();
+        }
+        Long teamId = teamIdsByCode.get(normalized);
+        if (teamId != null) {
+            return Optional.of(teamId);
+        }
+        // Chỉ hỏi DB khi mã không có trong bộ nhớ: mã sai hoặc nhóm tạo ở instance khác
+        Optional<Long> found = teamRepository.findIdByInviteCode(normalized);
+        found.ifPresent(id -> teamIdsByCode.put(normalized, id));
+        return found;
+    }
+
+    /**
+     * Make the code resolvable once the current transaction commits
+     */
+    public void register(String code, Long teamId) {
+        runAfterCommit(() -> teamIdsByCode.put(code, teamId));
+    }
+
+    public void unregister(String code) {
+        runAfterCommit(() -> teamIdsByCode.remove(code));
+    }
+
+    /**
+     * Upper case, and the characters Crockford base32 treats as look-alikes mapped to digits
+     */
+    static String normalize(String code) {
+        if (code == null || code.isBlank()) {
+            return null;
+        }
+        return code.strip().toUpperCase(Locale.ROOT)
+                .replace('O', '0')
+                .replace('I', '1')
+                .replace('L', '1');
+    }
+
+    private String randomCode() {
+        char[] chars = new char[CODE_LENGTH];
+        for (int i = 0; i < CODE_LENGTH; i++) {
+            chars[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        }
+        return new String(chars);
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
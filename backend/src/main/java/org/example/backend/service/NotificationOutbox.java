@@ -0,0 +1,153 @@
+package org.example.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.entity.NotificationOutboxEntry;
+import org.example.backend.repository.NotificationOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Transactional outbox for notifications.
+ * Notifications are inserted into notification_outbox inside the caller's transaction,
+ * so they commit or roll back with it; a scheduled dispatcher then moves them to
+ * notifications with JDBC batch inserts, off the request's hot path.
+ */
+@Component
+@Slf4j
+public class NotificationOutbox {
+
+    private static final String OUTBOX_INSERT_SQL = "INSERT INTO notification_outbox (user_id, title, message, link, created_at) "
+            + "VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_SQL = "INSERT INTO notifications (user_id, title, message, link, is_read, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationOutboxRepository outboxRepository;
+    private final UnreadNotificationCounter unreadCounter;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${notification.outbox.batch-size:200}")
+    private int batchSize;
+
+    public NotificationOutbox(JdbcTemplate jdbcTemplate,
+            NotificationOutboxRepository outboxRepository,
+            UnreadNotificationCounter unreadCounter,
+            PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.outboxRepository = outboxRepository;
+        this.unreadCounter = unreadCounter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Store notifications in the outbox table, joining the current transaction if there is one
+     */
+    public void enqueue(Collection<PendingNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        List<PendingNotification> rows = List.copyOf(notifications);
+        jdbcTemplate.batchUpdate(OUTBOX_INSERT_SQL, rows, rows.size(), (ps, notification) -> {
+            ps.setLong(1, notification.userId());
+            ps.setString(2, notification.title());
+            ps.setString(3, notification.message());
+            ps.setString(4, notification.link());
+            ps.setTimestamp(5, Timestamp.valueOf(notification.createdAt()));
+        });
+    }
+
+    /**
+     * Move outbox rows to notifications in batches
+     */
+    @Scheduled(fixedDelayString = "${notification.outbox.flush-ms:1000}")
+    public void flush() {
+        try {
+            while (dispatchBatch()) {
+                // next batch
+            }
+        } catch (Exception e) {
+            log.error("Failed to dispatch notifications, will retry", e);
+        }
+    }
+
+    public long pendingCount() {
+        return outboxRepository.count();
+    }
+
+    /**
+     * @return true if a full batch was moved and more rows may be waiting
+     */
+    private boolean dispatchBatch() {
+        List<NotificationOutboxEntry> batch = outboxRepository.findOldest(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return false;
+        }
+        try {
+            Boolean moved = transactionTemplate.execute(status -> move(batch, status));
+            return Boolean.TRUE.equals(moved) && batch.size() == batchSize;
+        } catch (DataIntegrityViolationException e) {
+            // A bad row (e.g. user deleted meanwhile) must not block the whole outbox
+            batch.forEach(entry -> transactionTemplate.executeWithoutResult(status -> moveSingle(entry)));
+            return batch.size() == batchSize;
+        }
+    }
+
+    private boolean move(List<NotificationOutboxEntry> batch, TransactionStatus status) {
+        // Deleting first claims the rows; a concurrent flusher (another instance) waits here and then gets fewer
+        int claimed = outboxRepository.deleteByIds(batch.stream().map(NotificationOutboxEntry::getId).toList());
+        if (claimed != batch.size()) {
+            status.setRollbackOnly();
+            return false;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, entry) -> {
+            ps.setLong(1, entry.getUserId());
+            ps.setString(2, entry.getTitle());
+            ps.setString(3, entry.getMessage());
+            ps.setString(4, entry.getLink());
+            ps.setBoolean(5, false);
+            ps.setTimestamp(6, Timestamp.valueOf(entry.getCreatedAt()));
+        });
+        afterCommit(() -> batch.stream().map(NotificationOutboxEntry::getUserId).distinct().forEach(unreadCounter::evict));
+        return true;
+    }
+
+    private void moveSingle(NotificationOutboxEntry entry) {
+        if (outboxRepository.deleteByIds(List.of(entry.getId())) == 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(INSERT_SQL, entry.getUserId(), entry.getTitle(), entry.getMessage(),
+                    entry.getLink(), false, Timestamp.valueOf(entry.getCreatedAt()));
+            afterCommit(() -> unreadCounter.evict(entry.getUserId()));
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Dropping notification for user {}: {}", entry.getUserId(), e.getMessage());
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public record PendingNotification(Long userId, String title, String message, String link,
+            LocalDateTime createdAt) {
+    }
+}
@@ -1,13 +1,19 @@
 package org.example.backend.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.NotificationFeedPage;
+import org.example.backend.dto.NotificationResponse;
 import org.example.backend.entity.Notification;
 import org.example.backend.entity.User;
 import org.example.backend.repository.NotificationRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,7 +22,11 @@ import java.util.Optional;
 @Transactional
 public class NotificationService {
 
+    private static final int MAX_FEED_PAGE_SIZE = 100;
+
     private final NotificationRepository notificationRepository;
+    private final NotificationOutbox notificationOutbox;
+    private final UnreadNotificationCounter unreadCounter;
 
     public Notification create(User user, String title, String message, String link) {
         Notification notification = Notification.builder()
@@ -27,7 +37,26 @@ public class NotificationService {
                 .isRead(false)
                 .build();
 
-        return notificationRepository.save(notification);
+        Notification savedNotification = notificationRepository.save(notification);
+        unreadCounter.evictAfterCommit(user.getId());
+        return savedNotification;
+    }
+
+    /**
+     * Queue a notification; it is written in batch after the current transaction commits
+     */
+    public void enqueue(User user, String title, String message, String link) {
+        enqueueAll(List.of(user), title, message, link);
+    }
+
+    /**
+     * Queue the same notification for several users in one call
+     */
+    public void enqueueAll(Collection<User> users, String title, String message, String link) {
+        LocalDateTime now = LocalDateTime.now();
+        notificationOutbox.enqueue(users.stream()
+                .map(user -> new NotificationOutbox.PendingNotification(user.getId(), title, message, link, now))
+                .toList());
     }
 
     public Optional<Notification> findById(Long id) {
@@ -38,36 +67,97 @@ public class NotificationService {
         return notificationRepository.findByUserOrderByCreatedAtDesc(user);
     }
 
+    /**
+     * Keyset-paginated feed ordered by (createdAt, id) descending
+     */
+    @Transactional(readOnly = true)
+    public NotificationFeedPage getFeed(Long userId, String cursor, int limit, boolean unreadOnly) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_FEED_PAGE_SIZE));
+        // Fetch one extra row to know whether there is a next page
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+
+        List<NotificationResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = unreadOnly
+                    ? notificationRepository.findUnreadFeedFirstPage(userId, page)
+                    : notificationRepository.findFeedFirstPage(userId, page);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            LocalDateTime createdAt = parseTimestamp(position.value());
+            rows = unreadOnly
+                    ? notificationRepository.findUnreadFeedPageAfter(userId, createdAt, position.id(), page)
+                    : notificationRepository.findFeedPageAfter(userId, createdAt, position.id(), page);
+        }
+
+        if (rows.size() <= pageSize) {
+            return new NotificationFeedPage(rows, null);
+        }
+        List<NotificationResponse> items = rows.subList(0, pageSize);
+        NotificationResponse last = items.get(pageSize - 1);
+        return new NotificationFeedPage(List.copyOf(items), new KeysetCursor(last.createdAt().toString(), last.id()).encode());
+    }
+
     public List<Notification> findUnreadByUser(User user) {
         return notificationRepository.findByUserAndIsReadFalseOrderByCreatedAtDesc(user);
     }
 
     public Long countUnread(User user) {
-        return notificationRepository.countByUserAndIsReadFalse(user);
+        return countUnread(user.getId());
+    }
+
+    /**
+     * Served from the in-memory counter, no database round trip once loaded
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Long countUnread(Long userId) {
+        return unreadCounter.get(userId);
     }
 
     public Notification markAsRead(Long notificationId) {
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new RuntimeException("Notification not found"));
 
+        if (!Boolean.TRUE.equals(notification.getIsRead())) {
+            unreadCounter.evictAfterCommit(notification.getUser().getId());
+        }
         notification.setIsRead(true);
         notification.setReadAt(LocalDateTime.now());
         return notificationRepository.save(notification);
     }
 
     public void markAllAsRead(User user) {
-        List<Notification> unread = notificationRepository.findByUserAndIsReadFalseOrderByCreatedAtDesc(user);
-        LocalDateTime now = LocalDateTime.now();
+        // Single set-based UPDATE instead of loading every unread entity
+        notificationRepository.markAllAsRead(user, LocalDateTime.now());
+        unreadCounter.evictAfterCommit(user.getId());
+    }
 
-        for (Notification notification : unread) {
-            notification.setIsRead(true);
-            notification.setReadAt(now);
+    /**
+     * Delete one chunk of read notifications created before the cutoff
+     *
+     * @return number of deleted notifications
+     */
+    public int purgeRead(LocalDateTime cutoff, int chunkSize) {
+        List<Long> ids = notificationRepository.findReadIdsCreatedBefore(cutoff, PageRequest.of(0, chunkSize));
+        if (!ids.isEmpty()) {
+            notificationRepository.deleteAllByIdInBatch(ids);
         }
-
-        notificationRepository.saveAll(unread);
+        return ids.size();
     }
 
     public void delete(Long id) {
-        notificationRepository.deleteById(id);
+        notificationRepository.findById(id).ifPresent(notification -> {
+            if (!Boolean.TRUE.equals(notification.getIsRead())) {
+                unreadCounter.evictAfterCommit(notification.getUser().getId());
+            }
+            notificationRepository.delete(notification);
+        });
+    }
+
+    private LocalDateTime parseTimestamp(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
     }
 }
@@ -0,0 +1,325 @@
+package org.example.backend.service;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.entity.AdmissionTicket;
+import org.example.backend.entity.Registration;
+import org.example.backend.entity.Team;
+import org.example.backend.enums.AdmissionStatus;
+import org.example.backend.exception.RegistrationQueueFullException;
+import org.example.backend.repository.AdmissionTicketRepository;
+import org.example.backend.repository.RegistrationRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Admission queue for registration bursts.
+ * Requests get a ticket immediately and wait in a bounded per-semester queue; each
+ * semester is drained by one worker at a time so tickets are admitted strictly in
+ * sequence order instead of whichever database commit wins. Ticket numbers come from
+ * a persisted sequence; a ticket is stored in admission_tickets as QUEUED when it is
+ * accepted and updated with its outcome, so tickets still queued when the application
+ * stops are driven again on the next start.
+ */
+@Service
+@Slf4j
+public class RegistrationAdmissionQueue {
+
+    private static final long TICKET_RETENTION_MINUTES = 30;
+    private static final String SEQUENCE_NAME = "registration-admission";
+    private static final int SEQUENCE_BLOCK_SIZE = 100;
+    private static final String INSERT_SQL = "INSERT INTO admission_tickets "
+            + "(id, semester_id, team_id, topic_id, status, queued_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String COMPLETE_SQL = "UPDATE admission_tickets "
+            + "SET status = ?, registration_id = ?, error = ?, completed_at = ? WHERE id = ?";
+
+    private final RegistrationService registrationService;
+    private final TeamService teamService;
+    private final RegistrationRepository registrationRepository;
+    private final AdmissionTicketRepository admissionTicketRepository;
+    private final SequenceAllocator sequenceAllocator;
+    private final JdbcTemplate jdbcTemplate;
+    private final Executor registrationExecutor;
+
+    @Value("${registration.admission.queue-enabled:false}")
+    private boolean enabled;
+
+    @Value("${registration.admission.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${registration.admission.batch-size:20}")
+    private int batchSize;
+
+    private final ConcurrentMap<Long, SemesterQueue> queues = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Ticket> tickets = new ConcurrentHashMap<>();
+
+    public RegistrationAdmissionQueue(RegistrationService registrationService,
+            TeamService teamService,
+            RegistrationRepository registrationRepository,
+            AdmissionTicketRepository admissionTicketRepository,
+            SequenceAllocator sequenceAllocator,
+            JdbcTemplate jdbcTemplate,
+            @Qualifier("registrationExecutor") Executor registrationExecutor) {
+        this.registrationService = registrationService;
+        this.teamService = teamService;
+        this.registrationRepository = registrationRepository;
+        this.admissionTicketRepository = admissionTicketRepository;
+        this.sequenceAllocator = sequenceAllocator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.registrationExecutor = registrationExecutor;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Put a registration request into its semester queue and return the ticket
+     */
+    public Ticket submit(Team team, Long topicId) {
+        Long semesterId = team.getSemester().getId();
+        SemesterQueue queue = queues.computeIfAbsent(semesterId, id -> new SemesterQueue(queueCapacity));
+
+        Ticket ticket;
+        // Sequence number and queue position must be taken together to keep FCFS order
+        synchronized (queue) {
+            if (queue.tickets.remainingCapacity() == 0) {
+                throw new RegistrationQueueFullException("Registration queue is full, please try again later");
+            }
+            ticket = new Ticket(sequenceAllocator.next(SEQUENCE_NAME, SEQUENCE_BLOCK_SIZE, this::lastUsedSequence),
+                    semesterId, team.getId(), topicId, LocalDateTime.now());
+            jdbcTemplate.update(INSERT_SQL, ticket.getId(), semesterId, ticket.getTeamId(), topicId,
+                    AdmissionStatus.QUEUED.name(), Timestamp.valueOf(ticket.getQueuedAt()));
+            tickets.put(ticket.getId(), ticket);
+            queue.tickets.add(ticket);
+        }
+
+        scheduleDrain(queue);
+        return ticket;
+    }
+
+    /**
+     * Queued or recently finished tickets from memory, older outcomes from admission_tickets
+     */
+    public Optional<Ticket> findTicket(Long ticketId) {
+        Ticket ticket = tickets.get(ticketId);
+        if (ticket != null) {
+            return Optional.of(ticket);
+        }
+        return admissionTicketRepository.findById(ticketId).map(Ticket::from);
+    }
+
+    /**
+     * Drive tickets that were still queued when the application stopped, in sequence order.
+     * A ticket whose registration had already committed only gets its outcome stored.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverQueuedTickets() {
+        List<Ticket> finished = new ArrayList<>();
+        int requeued = 0;
+        for (AdmissionTicket stored : admissionTicketRepository.findByStatusOrderByIdAsc(AdmissionStatus.QUEUED)) {
+            Ticket ticket = Ticket.from(stored);
+            tickets.put(ticket.getId(), ticket);
+            Optional<Long> registrationId = registrationRepository.findIdByAdmissionSequence(ticket.getId());
+            if (registrationId.isPresent()) {
+                complete(ticket, AdmissionStatus.ADMITTED, registrationId.get(), null);
+                finished.add(ticket);
+                continue;
+            }
+            SemesterQueue queue = queues.computeIfAbsent(ticket.getSemesterId(), id -> new SemesterQueue(queueCapacity));
+            if (queue.tickets.offer(ticket)) {
+                requeued++;
+            } else {
+                complete(ticket, AdmissionStatus.REJECTED, null, "Registration queue is full, please try again later");
+                finished.add(ticket);
+            }
+        }
+        if (!finished.isEmpty()) {
+            store(finished);
+        }
+        if (requeued > 0) {
+            log.info("{} registration tickets queued before the restart are admitted again", requeued);
+            queues.values().forEach(this::scheduleDrain);
+        }
+    }
+
+    // Only used when the sequence is created, e.g. on a database from before admission_tickets
+    private long lastUsedSequence() {
+        Long lastRegistration = registrationRepository.findMaxAdmissionSequence();
+        Long lastTicket = admissionTicketRepository.findMaxId();
+        return Math.max(lastRegistration != null ? lastRegistration : 0, lastTicket != null ? lastTicket : 0);
+    }
+
+    private void scheduleDrain(SemesterQueue queue) {
+        if (queue.draining.compareAndSet(false, true)) {
+            registrationExecutor.execute(() -> drain(queue));
+        }
+    }
+
+    private void drain(SemesterQueue queue) {
+        try {
+            List<Ticket> batch = new ArrayList<>(batchSize);
+            while (queue.tickets.drainTo(batch, batchSize) > 0) {
+                admit(batch);
+                store(batch);
+                batch.clear();
+            }
+        } finally {
+            queue.draining.set(false);
+        }
+
+        // A ticket may have arrived after the last drain but before the flag was reset
+        if (!queue.tickets.isEmpty()) {
+            scheduleDrain(queue);
+        }
+    }
+
+    /**
+     * Admit a drained batch with one registration transaction
+     */
+    private void admit(List<Ticket> batch) {
+        Map<Long, Team> teams = teamService.findAllById(batch.stream().map(Ticket::getTeamId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Team::getId, Function.identity()));
+        List<Ticket> queued = new ArrayList<>(batch.size());
+        List<RegistrationService.QueuedRegistration> requests = new ArrayList<>(batch.size());
+        for (Ticket ticket : batch) {
+            Team team = teams.get(ticket.getTeamId());
+            if (team == null) {
+                complete(ticket, AdmissionStatus.REJECTED, null, "Team not found");
+                continue;
+            }
+            queued.add(ticket);
+            requests.add(new RegistrationService.QueuedRegistration(team, ticket.getTopicId(), ticket.getId()));
+        }
+        if (requests.isEmpty()) {
+            return;
+        }
+
+        List<RegistrationService.Admission> admissions;
+        try {
+            admissions = registrationService.registerQueued(requests);
+        } catch (Exception e) {
+            // A write failed and took the whole batch with it, so only that ticket should fail
+            log.warn("Batch of {} registration tickets rolled back, admitting them one by one", queued.size(), e);
+            queued.forEach(this::admit);
+            return;
+        }
+        for (int i = 0; i < queued.size(); i++) {
+            RegistrationService.Admission admission = admissions.get(i);
+            complete(queued.get(i), admission.error() == null ? AdmissionStatus.ADMITTED : AdmissionStatus.REJECTED,
+                    admission.registrationId(), admission.error());
+        }
+    }
+
+    private void admit(Ticket ticket) {
+        try {
+            Team team = teamService.findById(ticket.getTeamId())
+                    .orElseThrow(() -> new RuntimeException("Team not found"));
+            Registration registration = registrationService.register(team, ticket.getTopicId(), ticket.getId());
+            complete(ticket, AdmissionStatus.ADMITTED, registration.getId(), null);
+        } catch (Exception e) {
+            complete(ticket, AdmissionStatus.REJECTED, null, e.getMessage());
+        }
+    }
+
+    private void complete(Ticket ticket, AdmissionStatus status, Long registrationId, String error) {
+        ticket.complete(status, registrationId, error);
+        log.info("Registration ticket #{} (team {}, topic {}): {}",
+                ticket.getId(), ticket.getTeamId(), ticket.getTopicId(), ticket.getStatus());
+    }
+
+    private void store(List<Ticket> finished) {
+        try {
+            jdbcTemplate.batchUpdate(COMPLETE_SQL, finished, finished.size(), (ps, ticket) -> {
+                ps.setString(1, ticket.getStatus().name());
+                ps.setObject(2, ticket.getRegistrationId());
+                ps.setString(3, ticket.getError() != null && ticket.getError().length() > 1000
+                        ? ticket.getError().substring(0, 1000)
+                        : ticket.getError());
+                ps.setTimestamp(4, Timestamp.valueOf(ticket.getCompletedAt()));
+                ps.setLong(5, ticket.getId());
+            });
+        } catch (Exception e) {
+            // Registrations are committed already; the next start finds them by admission sequence
+            log.error("Could not store outcomes of {} registration tickets", finished.size(), e);
+        }
+    }
+
+    /**
+     * Drop finished tickets from memory once clients had enough time to poll
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void purgeFinishedTickets() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(TICKET_RETENTION_MINUTES);
+        tickets.values().removeIf(ticket -> ticket.getCompletedAt() != null
+                && ticket.getCompletedAt().isBefore(cutoff));
+    }
+
+    private static class SemesterQueue {
+        private final BlockingQueue<Ticket> tickets;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        SemesterQueue(int capacity) {
+            this.tickets = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    @Getter
+    public static class Ticket {
+        private final Long id; // Cũng là số thứ tự FCFS
+        private final Long semesterId;
+        private final Long teamId;
+        private final Long topicId;
+        private final LocalDateTime queuedAt;
+        private volatile AdmissionStatus status = AdmissionStatus.QUEUED;
+        private volatile Long registrationId;
+        private volatile String error;
+        private volatile LocalDateTime completedAt;
+
+        Ticket(Long id, Long semesterId, Long teamId, Long topicId, LocalDateTime queuedAt) {
+            this.id = id;
+            this.semesterId = semesterId;
+            this.teamId = teamId;
+            this.topicId = topicId;
+            this.queuedAt = queuedAt;
+        }
+
+        static Ticket from(AdmissionTicket stored) {
+            Ticket ticket = new Ticket(stored.getId(), stored.getSemesterId(), stored.getTeamId(),
+                    stored.getTopicId(), stored.getQueuedAt());
+            ticket.registrationId = stored.getRegistrationId();
+            ticket.error = stored.getError();
+            ticket.completedAt = stored.getCompletedAt();
+            ticket.status = stored.getStatus();
+            return ticket;
+        }
+
+        void complete(AdmissionStatus status, Long registrationId, String error) {
+            this.registrationId = registrationId;
+            this.error = error;
+            this.completedAt = LocalDateTime.now();
+            this.status = status;
+        }
+    }
+}
@@ -1,16 +1,23 @@
 package org.example.backend.service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import org.example.backend.entity.*;
 import org.example.backend.enums.RegistrationStatus;
 import org.example.backend.enums.TeamStatus;
 import org.example.backend.enums.TopicStatus;
+import org.example.backend.event.TopicChangedEvent;
 import org.example.backend.repository.RegistrationRepository;
 import org.example.backend.repository.TopicRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,11 +29,50 @@ public class RegistrationService {
     private final RegistrationRepository registrationRepository;
     private final TopicRepository topicRepository;
     private final NotificationService notificationService;
+    private final SlotReservationService slotReservationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TopicStateMachine topicStateMachine;
+    private final SemesterAnalyticsService semesterAnalyticsService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     /**
      * Register a team for a topic (FCFS - First Come First Served)
      */
     public Registration register(Team team, Long topicId) {
+        return register(team, topicId, null);
+    }
+
+    /**
+     * Register a team for a topic admitted from the registration queue
+     */
+    public Registration register(Team team, Long topicId, Long admissionSequence) {
+        return doRegister(team, topicId, admissionSequence);
+    }
+
+    /**
+     * Register queued requests in one transaction, in the given order. A request that
+     * fails its checks gets the error and the others still commit; if a write fails,
+     * the whole batch rolls back and the caller has to admit the requests one by one.
+     */
+    public List<Admission> registerQueued(List<QueuedRegistration> requests) {
+        List<Admission> admissions = new ArrayList<>(requests.size());
+        for (QueuedRegistration request : requests) {
+            try {
+                Registration registration = doRegister(request.team(), request.topicId(), request.admissionSequence());
+                admissions.add(new Admission(registration.getId(), null));
+            } catch (RuntimeException e) {
+                if (TransactionAspectSupport.currentTransactionStatus().isRollbackOnly()) {
+                    throw e;
+                }
+                admissions.add(new Admission(null, e.getMessage()));
+            }
+        }
+        return admissions;
+    }
+
+    private Registration doRegister(Team team, Long topicId, Long admissionSequence) {
         Topic topic = topicRepository.findById(topicId)
                 .orElseThrow(() -> new RuntimeException("Topic not found"));
 
@@ -45,28 +91,29 @@ public class RegistrationService {
             throw new RuntimeException("Team has already registered for this topic");
         }
 
-        // Check if topic has available slots
-        Long activeRegistrations = registrationRepository.countActiveRegistrations(topic);
-        if (activeRegistrations >= topic.getMaxTeams()) {
-            throw new RuntimeException("Topic has no available slots");
-        }
+        // Reserve a slot (rolled back together with the transaction)
+        int occupiedSlots = slotReservationService.reserve(topic);
 
         Registration registration = Registration.builder()
                 .team(team)
                 .topic(topic)
                 .status(RegistrationStatus.PENDING)
+                .admissionSequence(admissionSequence)
                 .build();
 
         Registration savedRegistration = registrationRepository.save(registration);
+        semesterAnalyticsService.registrationStatusChanged(topic.getSemester().getId(), null,
+                RegistrationStatus.PENDING);
 
         // Update topic status if max teams reached
-        if (activeRegistrations + 1 >= topic.getMaxTeams()) {
-            topic.setStatus(TopicStatus.REGISTERED);
-            topicRepository.save(topic);
+        if (occupiedSlots >= topic.getMaxTeams()) {
+            topicStateMachine.transition(topic, TopicStatus.REGISTERED, () -> isFull(topic));
         }
 
+        eventPublisher.publishEvent(TopicChangedEvent.of(topic));
+
         // Notify supervisor
-        notificationService.create(topic.getSupervisor(),
+        notificationService.enqueue(topic.getSupervisor(),
                 "New Topic Registration",
                 "Team " + team.getName() + " has registered for topic: " + topic.getCode(),
                 "/registrations/" + savedRegistration.getId());
@@ -113,10 +160,16 @@ public class RegistrationService {
 
         // Update team status
         Team team = registration.getTeam();
-        team.setStatus(TeamStatus.REGISTERED);
+        Long semesterId = team.getSemester().getId();
+        semesterAnalyticsService.registrationStatusChanged(semesterId, RegistrationStatus.PENDING,
+                RegistrationStatus.APPROVED);
+        changeTeamStatus(team, TeamStatus.REGISTERED);
+
+        // Pending count on the supervisor dashboard changes
+        eventPublisher.publishEvent(TopicChangedEvent.of(registration.getTopic()));
 
         // Notify team leader
-        notificationService.create(team.getLeader(),
+        notificationService.enqueue(team.getLeader(),
                 "Registration Approved",
                 "Your registration for topic " + registration.getTopic().getCode() + " has been approved!",
                 "/registrations/" + registration.getId());
@@ -142,16 +195,19 @@ public class RegistrationService {
         registration.setRejectedAt(LocalDateTime.now());
         Registration savedRegistration = registrationRepository.save(registration);
 
-        // Revert topic status if needed
+        // Release the slot and revert topic status if needed
         Topic topic = registration.getTopic();
-        Long activeRegistrations = registrationRepository.countActiveRegistrations(topic);
-        if (activeRegistrations < topic.getMaxTeams() && topic.getStatus() == TopicStatus.REGISTERED) {
-            topic.setStatus(TopicStatus.PUBLISHED);
-            topicRepository.save(topic);
+        semesterAnalyticsService.registrationStatusChanged(topic.getSemester().getId(), RegistrationStatus.PENDING,
+                RegistrationStatus.REJECTED);
+        int occupiedSlots = slotReservationService.release(topic);
+        if (occupiedSlots < topic.getMaxTeams() && topic.getStatus() == TopicStatus.REGISTERED) {
+            topicStateMachine.transition(topic, TopicStatus.PUBLISHED, () -> !isFull(topic));
         }
 
+        eventPublisher.publishEvent(TopicChangedEvent.of(topic));
+
         // Notify team leader
-        notificationService.create(registration.getTeam().getLeader(),
+        notificationService.enqueue(registration.getTeam().getLeader(),
                 "Registration Rejected",
                 "Your registration for topic " + topic.getCode() + " has been rejected. Reason: " + reason,
                 "/topics");
@@ -171,14 +227,17 @@ public class RegistrationService {
         Registration savedRegistration = registrationRepository.save(registration);
 
         // Update topic and team status
-        registration.getTopic().setStatus(TopicStatus.FINALIZED);
-        topicRepository.save(registration.getTopic());
+        Topic topic = registration.getTopic();
+        topicStateMachine.transition(topic, TopicStatus.FINALIZED);
+        eventPublisher.publishEvent(TopicChangedEvent.of(topic));
 
         Team team = registration.getTeam();
-        team.setStatus(TeamStatus.FINALIZED);
+        semesterAnalyticsService.registrationStatusChanged(topic.getSemester().getId(), RegistrationStatus.APPROVED,
+                RegistrationStatus.FINALIZED);
+        changeTeamStatus(team, TeamStatus.FINALIZED);
 
         // Notify team leader
-        notificationService.create(team.getLeader(),
+        notificationService.enqueue(team.getLeader(),
                 "Registration Finalized",
                 "Your team has been officially assigned to topic: " + registration.getTopic().getCode(),
                 "/registrations/" + registration.getId());
@@ -186,7 +245,41 @@ public class RegistrationService {
         return savedRegistration;
     }
 
+    /**
+     * Lock the team row and move it to the target status; the analytics delta is taken
+     * from the locked row, the team loaded with the registration may be stale
+     */
+    private void changeTeamStatus(Team team, TeamStatus target) {
+        entityManager.refresh(team, LockModeType.PESSIMISTIC_WRITE);
+        semesterAnalyticsService.teamStatusChanged(team.getSemester().getId(), team.getStatus(), target);
+        team.setStatus(target);
+    }
+
+    // Checked again by the state machine if the status change has to be retried
+    private boolean isFull(Topic topic) {
+        Integer occupied = topicRepository.findRegisteredTeams(topic.getId());
+        return occupied != null && occupied >= topic.getMaxTeams();
+    }
+
     public void delete(Long id) {
-        registrationRepository.deleteById(id);
+        registrationRepository.findById(id).ifPresent(registration -> {
+            if (SlotReservationService.isActive(registration.getStatus())) {
+                slotReservationService.release(registration.getTopic());
+            }
+            registrationRepository.delete(registration);
+            Topic topic = registration.getTopic();
+            semesterAnalyticsService.registrationStatusChanged(topic.getSemester().getId(),
+                    registration.getStatus(), null);
+            eventPublisher.publishEvent(TopicChangedEvent.of(topic));
+        });
+    }
+
+    public record QueuedRegistration(Team team, Long topicId, Long admissionSequence) {
+    }
+
+    /**
+     * registrationId when admitted, otherwise the reason
+     */
+    public record Admission(Long registrationId, String error) {
     }
 }
@@ -1,51 +1,94 @@
 package org.example.backend.service;
 
-import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.ReviewTallyCounts;
 import org.example.backend.entity.*;
 import org.example.backend.enums.ReviewDecision;
 import org.example.backend.enums.TopicStatus;
-import org.example.backend.enums.UserRole;
+import org.example.backend.event.TopicChangedEvent;
 import org.example.backend.repository.ReviewRepository;
+import org.example.backend.repository.ReviewTallyRepository;
 import org.example.backend.repository.TopicRepository;
 import org.example.backend.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Transactional
 public class ReviewService {
 
+    // One row even without reviews: the aggregate is taken over the topic version's reviews
+    private static final String CREATE_TALLY_SQL = "INSERT INTO review_tallies "
+            + "(topic_id, topic_version, assigned, approved, rejected, decided) "
+            + "SELECT ?, ?, COUNT(*), "
+            + "COALESCE(SUM(CASE WHEN decision = 'APPROVED' THEN 1 ELSE 0 END), 0), "
+            + "COALESCE(SUM(CASE WHEN decision = 'REJECTED' THEN 1 ELSE 0 END), 0), "
+            + "COALESCE(SUM(CASE WHEN decision IS NOT NULL THEN 1 ELSE 0 END), 0) "
+            + "FROM reviews WHERE topic_id = ? AND topic_version = ?";
+
     private final ReviewRepository reviewRepository;
+    private final ReviewTallyRepository reviewTallyRepository;
     private final TopicRepository topicRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReviewerAssignmentEngine reviewerAssignmentEngine;
+    private final TopicStateMachine topicStateMachine;
+    private final SemesterAnalyticsService semesterAnalyticsService;
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReviewService(ReviewRepository reviewRepository,
+            ReviewTallyRepository reviewTallyRepository,
+            TopicRepository topicRepository,
+            UserRepository userRepository,
+            NotificationService notificationService,
+            ApplicationEventPublisher eventPublisher,
+            ReviewerAssignmentEngine reviewerAssignmentEngine,
+            TopicStateMachine topicStateMachine,
+            SemesterAnalyticsService semesterAnalyticsService,
+            JdbcTemplate jdbcTemplate) {
+        this.reviewRepository = reviewRepository;
+        this.reviewTallyRepository = reviewTallyRepository;
+        this.topicRepository = topicRepository;
+        this.userRepository = userRepository;
+        this.notificationService = notificationService;
+        this.eventPublisher = eventPublisher;
+        this.reviewerAssignmentEngine = reviewerAssignmentEngine;
+        this.topicStateMachine = topicStateMachine;
+        this.semesterAnalyticsService = semesterAnalyticsService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
 
     /**
      * Assign reviewers to a topic (called after AI screening passes)
-     * Constraint: Reviewer ≠ Supervisor
+     * Constraint: Reviewer ≠ Supervisor; the least loaded reviewers are chosen
      */
     public List<Review> assignReviewers(Long topicId, int numberOfReviewers) {
         Topic topic = topicRepository.findById(topicId)
                 .orElseThrow(() -> new RuntimeException("Topic not found"));
 
-        // Get all reviewers except the supervisor
-        List<User> availableReviewers = userRepository.findByRole(UserRole.REVIEWER);
-        availableReviewers.removeIf(r -> r.getId().equals(topic.getSupervisor().getId()));
-
-        if (availableReviewers.size() < numberOfReviewers) {
+        List<Long> reviewerIds = reviewerAssignmentEngine.select(topic.getSupervisor(), numberOfReviewers);
+        if (reviewerIds.isEmpty()) {
             throw new RuntimeException("Not enough reviewers available");
         }
-
-        // Shuffle and pick reviewers
-        Collections.shuffle(availableReviewers);
-        List<User> selectedReviewers = availableReviewers.subList(0, numberOfReviewers);
+        List<User> selectedReviewers = userRepository.findAllById(reviewerIds);
+        addAssigned(topic, selectedReviewers.size());
 
         List<Review> reviews = new ArrayList<>();
         for (User reviewer : selectedReviewers) {
@@ -55,21 +98,74 @@ public class ReviewService {
                     .topicVersion(topic.getVersion())
                     .build();
             reviews.add(reviewRepository.save(review));
-
-            // Notify reviewer
-            notificationService.create(reviewer,
-                    "New Topic Assigned for Review",
-                    "You have been assigned to review topic: " + topic.getCode(),
-                    "/reviews/" + topicId);
         }
 
+        // Notify reviewers
+        notificationService.enqueueAll(selectedReviewers,
+                "New Topic Assigned for Review",
+                "You have been assigned to review topic: " + topic.getCode(),
+                "/reviews/" + topicId);
+
         // Update topic status
-        topic.setStatus(TopicStatus.PENDING_REVIEW);
-        topicRepository.save(topic);
+        topicStateMachine.transition(topic, TopicStatus.PENDING_REVIEW);
+        eventPublisher.publishEvent(TopicChangedEvent.of(topic));
 
         return reviews;
     }
 
+    /**
+     * Assign reviewers to many topics in one pass (batch screening).
+     * Each topic gets the currently least loaded reviewers, so the batch is spread evenly;
+     * selected reviewers are loaded with a single query.
+     *
+     * @return ids of the topics moved to PENDING_REVIEW
+     */
+    public List<Long> assignReviewers(List<Long> topicIds, int numberOfReviewers) {
+        List<Topic> topics = new ArrayList<>();
+        List<List<Long>> selections = new ArrayList<>();
+        for (Topic topic : topicRepository.findAllById(topicIds)) {
+            if (!TopicStateMachine.canTransition(topic.getStatus(), TopicStatus.PENDING_REVIEW)) {
+                continue; // Changed meanwhile (e.g. resubmitted)
+            }
+            List<Long> reviewerIds = reviewerAssignmentEngine.select(topic.getSupervisor(), numberOfReviewers);
+            if (!reviewerIds.isEmpty()) { // Not enough reviewers: topic stays AI_PASSED
+                topics.add(topic);
+                selections.add(reviewerIds);
+            }
+        }
+
+        Set<Long> allReviewerIds = new HashSet<>();
+        selections.forEach(allReviewerIds::addAll);
+        Map<Long, User> reviewers = userRepository.findAllById(allReviewerIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<Review> reviews = new ArrayList<>();
+        List<Long> assignedTopicIds = new ArrayList<>();
+        for (int i = 0; i < topics.size(); i++) {
+            Topic topic = topics.get(i);
+            List<User> selectedReviewers = selections.get(i).stream().map(reviewers::get).toList();
+            for (User reviewer : selectedReviewers) {
+                reviews.add(Review.builder()
+                        .topic(topic)
+                        .reviewer(reviewer)
+                        .topicVersion(topic.getVersion())
+                        .build());
+            }
+            addAssigned(topic, selectedReviewers.size());
+            notificationService.enqueueAll(selectedReviewers,
+                    "New Topic Assigned for Review",
+                    "You have been assigned to review topic: " + topic.getCode(),
+                    "/reviews/" + topic.getId());
+
+            topicStateMachine.transition(topic, TopicStatus.PENDING_REVIEW);
+            assignedTopicIds.add(topic.getId());
+            eventPublisher.publishEvent(TopicChangedEvent.of(topic));
+        }
+
+        reviewRepository.saveAll(reviews);
+        return assignedTopicIds;
+    }
+
     public Optional<Review> findById(Long id) {
         return reviewRepository.findById(id);
     }
@@ -85,63 +181,126 @@ public class ReviewService {
     public Review submitReview(Long reviewId, ReviewDecision decision, String comment) {
         Review review = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new RuntimeException("Review not found"));
+        // Before the review changes: a new tally is seeded from the stored reviews
+        if (!reviewTallyRepository.existsByTopicIdAndTopicVersion(review.getTopic().getId(), review.getTopicVersion())) {
+            createTally(review.getTopic().getId(), review.getTopicVersion());
+        }
 
+        ReviewDecision previous = review.getDecision();
+        if (previous == null) {
+            reviewerAssignmentEngine.reviewClosed(review.getReviewer().getId());
+            semesterAnalyticsService.openReviewsChanged(review.getTopic().getSemester().getId(), -1);
+        }
         review.setDecision(decision);
         review.setComment(comment);
         review.setReviewedAt(LocalDateTime.now());
         Review savedReview = reviewRepository.save(review);
 
-        // Check if all reviews are completed and determine topic status
-        evaluateTopicStatus(review.getTopic());
+        // Update the decision counters and determine topic status once all reviews are completed
+        recordDecision(savedReview, previous);
 
         return savedReview;
     }
 
     /**
-     * Evaluate topic status based on review decisions
+     * Count the decision in the tally of the review's topic version and evaluate
+     * the topic status once every assigned review has a decision.
      * Decision Matrix:
      * - 2 APPROVED → APPROVED
      * - 2 REJECTED → REJECTED
      * - Otherwise → WAITING_COORDINATOR
      */
-    private void evaluateTopicStatus(Topic topic) {
-        List<Review> reviews = reviewRepository.findByTopicAndTopicVersion(topic, topic.getVersion());
-
-        // Check if all reviews are completed
-        boolean allCompleted = reviews.stream().allMatch(r -> r.getDecision() != null);
-        if (!allCompleted || reviews.size() < 2) {
+    private void recordDecision(Review review, ReviewDecision previous) {
+        Topic topic = review.getTopic();
+        Integer version = review.getTopicVersion();
+        int approved = count(review.getDecision(), ReviewDecision.APPROVED) - count(previous, ReviewDecision.APPROVED);
+        int rejected = count(review.getDecision(), ReviewDecision.REJECTED) - count(previous, ReviewDecision.REJECTED);
+        int decided = previous == null ? 1 : 0;
+
+        // The UPDATE locks the tally row: a concurrent submission waits for this one to commit
+        reviewTallyRepository.addDecisions(topic.getId(), version, approved, rejected, decided);
+        if (!version.equals(topic.getVersion())) {
             return;
         }
-
-        long approvedCount = reviews.stream()
-                .filter(r -> r.getDecision() == ReviewDecision.APPROVED)
-                .count();
-        long rejectedCount = reviews.stream()
-                .filter(r -> r.getDecision() == ReviewDecision.REJECTED)
-                .count();
-
-        TopicStatus newStatus;
-        if (approvedCount == reviews.size()) {
-            newStatus = TopicStatus.APPROVED;
-        } else if (rejectedCount == reviews.size()) {
-            newStatus = TopicStatus.REJECTED;
-        } else {
-            newStatus = TopicStatus.WAITING_COORDINATOR;
+        TopicStatus newStatus = decisionStatus(topic.getId(), version).orElse(null);
+        if (newStatus == null) {
+            return;
         }
 
-        topic.setStatus(newStatus);
-        if (newStatus == TopicStatus.APPROVED) {
-            topic.setApprovedAt(LocalDateTime.now());
+        // On a retry the topic must still be on this version with the same outcome
+        topicStateMachine.transition(topic, newStatus, () -> version.equals(topicRepository.findVersion(topic.getId()))
+                && decisionStatus(topic.getId(), version).filter(newStatus::equals).isPresent());
+        if (topic.getStatus() != newStatus) {
+            return;
         }
-        topicRepository.save(topic);
+        eventPublisher.publishEvent(TopicChangedEvent.of(topic));
 
         // Notify supervisor
-        notificationService.create(topic.getSupervisor(),
+        notificationService.enqueue(topic.getSupervisor(),
                 "Topic Review Completed",
                 "Your topic " + topic.getCode() + " review is completed. Status: " + newStatus,
                 "/topics/" + topic.getId());
     }
 
+    /**
+     * Outcome of the tally once every assigned review (at least two) has a decision
+     */
+    private Optional<TopicStatus> decisionStatus(Long topicId, Integer version) {
+        ReviewTallyCounts tally = reviewTallyRepository.findCounts(topicId, version).orElse(null);
+        if (tally == null || tally.decided() < tally.assigned() || tally.assigned() < 2) {
+            return Optional.empty();
+        }
+        if (tally.approved() == tally.assigned()) {
+            return Optional.of(TopicStatus.APPROVED);
+        }
+        if (tally.rejected() == tally.assigned()) {
+            return Optional.of(TopicStatus.REJECTED);
+        }
+        return Optional.of(TopicStatus.WAITING_COORDINATOR);
+    }
+
+    /**
+     * Count new reviews of the topic's current version (and in the semester backlog), before they are saved
+     */
+    private void addAssigned(Topic topic, int count) {
+        semesterAnalyticsService.openReviewsChanged(topic.getSemester().getId(), count);
+        if (reviewTallyRepository.addAssigned(topic.getId(), topic.getVersion(), count) > 0) {
+            return;
+        }
+        createTally(topic.getId(), topic.getVersion());
+        reviewTallyRepository.addAssigned(topic.getId(), topic.getVersion(), count);
+    }
+
+    /**
+     * Create the tally of a topic version in the caller's transaction, seeded from reviews
+     * assigned before tallies existed. The insert runs on the transaction's connection under
+     * a savepoint (JpaTransactionManager has no nested transactions), so when two requests
+     * race the loser rolls back only the insert and uses the winner's row.
+     */
+    private void createTally(Long topicId, Integer version) {
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+                Savepoint savepoint = connection.setSavepoint();
+                try (PreparedStatement statement = connection.prepareStatement(CREATE_TALLY_SQL)) {
+                    statement.setLong(1, topicId);
+                    statement.setInt(2, version);
+                    statement.setLong(3, topicId);
+                    statement.setInt(4, version);
+                    return statement.executeUpdate();
+                } catch (SQLException e) {
+                    connection.rollback(savepoint);
+                    throw e;
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Đã được tạo bởi request khác
+        }
+    }
+
+    private static int count(ReviewDecision decision, ReviewDecision counted) {
+        return decision == counted ? 1 : 0;
+    }
+
     /**
      * Coordinator makes final decision for disputed topics
      */
@@ -157,21 +316,32 @@ public class ReviewService {
             throw new RuntimeException("Invalid decision. Must be APPROVED or REJECTED");
         }
 
-        topic.setStatus(decision);
-        if (decision == TopicStatus.APPROVED) {
-            topic.setApprovedAt(LocalDateTime.now());
-        }
+        Topic savedTopic = topicStateMachine.transition(topic, decision);
 
         // Notify supervisor
-        notificationService.create(topic.getSupervisor(),
+        notificationService.enqueue(topic.getSupervisor(),
                 "Coordinator Decision",
                 "Your topic " + topic.getCode() + " has been " + decision + ". Reason: " + reason,
                 "/topics/" + topic.getId());
 
-        return topicRepository.save(topic);
+        eventPublisher.publishEvent(TopicChangedEvent.of(topic));
+        return savedTopic;
     }
 
     public void delete(Long id) {
-        reviewRepository.deleteById(id);
+        reviewRepository.findById(id).ifPresent(review -> {
+            ReviewDecision decision = review.getDecision();
+            if (decision == null) {
+                reviewerAssignmentEngine.reviewClosed(review.getReviewer().getId());
+                semesterAnalyticsService.openReviewsChanged(review.getTopic().getSemester().getId(), -1);
+            }
+            Long topicId = review.getTopic().getId();
+            if (reviewTallyRepository.addAssigned(topicId, review.getTopicVersion(), -1) > 0) {
+                reviewTallyRepository.addDecisions(topicId, review.getTopicVersion(),
+                        -count(decision, ReviewDecision.APPROVED), -count(decision, ReviewDecision.REJECTED),
+                        decision != null ? -1 : 0);
+            }
+            reviewRepository.delete(review);
+        });
     }
 }
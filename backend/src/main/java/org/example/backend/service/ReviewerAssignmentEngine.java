@@ -0,0 +1,217 @@
+package org.example.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.entity.User;
+import org.example.backend.enums.UserRole;
+import org.example.backend.event.UserChangedEvent;
+import org.example.backend.repository.ReviewRepository;
+import org.example.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Picks the least loaded reviewers for a topic.
+ * Reviewers are kept in an in-memory min-heap keyed by their number of open
+ * reviews (seeded with one grouped query), so an assignment costs O(k log n)
+ * instead of loading and shuffling every reviewer. Counts are updated as reviews
+ * are assigned and decided; assignments rolled back are given back.
+ * Optionally reviewers of the supervisor's department are preferred.
+ */
+@Component
+@Slf4j
+public class ReviewerAssignmentEngine {
+
+    private static final Comparator<HeapEntry> BY_LOAD = Comparator
+            .comparingLong(HeapEntry::openReviews)
+            .thenComparingInt(HeapEntry::tieBreak);
+
+    private final ReviewRepository reviewRepository;
+    private final UserRepository userRepository;
+    private final boolean departmentAffinity;
+
+    private final Map<Long, ReviewerLoad> reviewers = new HashMap<>();
+    private final PriorityQueue<HeapEntry> heap = new PriorityQueue<>(BY_LOAD);
+    private final Map<String, PriorityQueue<HeapEntry>> departmentHeaps = new HashMap<>();
+    private boolean stale = true;
+
+    public ReviewerAssignmentEngine(ReviewRepository reviewRepository, UserRepository userRepository,
+            @Value("${review.assignment.department-affinity:false}") boolean departmentAffinity) {
+        this.reviewRepository = reviewRepository;
+        this.userRepository = userRepository;
+        this.departmentAffinity = departmentAffinity;
+    }
+
+    /**
+     * Reserve the least loaded reviewers for a topic of the supervisor.
+     * Must be called inside the transaction that saves the reviews.
+     *
+     * @return ids of the selected reviewers, empty if there are not enough
+     */
+    public synchronized List<Long> select(User supervisor, int count) {
+        if (stale) {
+            reload();
+        }
+
+        List<ReviewerLoad> selected = new ArrayList<>(count);
+        if (departmentAffinity && supervisor.getDepartment() != null) {
+            PriorityQueue<HeapEntry> departmentHeap = departmentHeaps.get(supervisor.getDepartment());
+            if (departmentHeap != null) {
+                pick(departmentHeap, supervisor.getId(), count, selected);
+            }
+        }
+        pick(heap, supervisor.getId(), count, selected);
+        if (selected.size() < count) {
+            return List.of();
+        }
+
+        List<Long> ids = new ArrayList<>(count);
+        for (ReviewerLoad reviewer : selected) {
+            adjust(reviewer, 1);
+            ids.add(reviewer.id);
+        }
+        runAfterCompletion(committed -> {
+            if (!committed) {
+                release(ids);
+            }
+        });
+        return ids;
+    }
+
+    /**
+     * A review of the reviewer got its decision or was deleted
+     */
+    public void reviewClosed(Long reviewerId) {
+        runAfterCompletion(committed -> {
+            if (committed) {
+                release(List.of(reviewerId));
+            }
+        });
+    }
+
+    /**
+     * Reviewer set changed, reload on the next assignment
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUserChanged(UserChangedEvent event) {
+        stale = true;
+    }
+
+    private synchronized void release(List<Long> reviewerIds) {
+        for (Long reviewerId : reviewerIds) {
+            ReviewerLoad reviewer = reviewers.get(reviewerId);
+            if (reviewer != null && reviewer.openReviews > 0) {
+                adjust(reviewer, -1);
+            }
+        }
+    }
+
+    /**
+     * Take the least loaded valid entries until count reviewers are selected.
+     * Entries are never updated in place: a load change pushes a new entry and
+     * older ones are dropped when they reach the top.
+     */
+    private void pick(PriorityQueue<HeapEntry> queue, Long supervisorId, int count, List<ReviewerLoad> selected) {
+        List<HeapEntry> skipped = new ArrayList<>();
+        while (selected.size() < count && !queue.isEmpty()) {
+            HeapEntry entry = queue.poll();
+            ReviewerLoad reviewer = reviewers.get(entry.reviewerId());
+            if (reviewer == null || reviewer.openReviews != entry.openReviews()) {
+                continue; // Outdated entry
+            }
+            if (reviewer.id.equals(supervisorId) || selected.contains(reviewer)) {
+                skipped.add(entry); // Constraint: Reviewer ≠ Supervisor
+                continue;
+            }
+            selected.add(reviewer);
+            skipped.add(entry); // adjust() pushes the new load, this one becomes outdated
+        }
+        queue.addAll(skipped);
+    }
+
+    private void adjust(ReviewerLoad reviewer, int delta) {
+        reviewer.openReviews += delta;
+        HeapEntry entry = new HeapEntry(reviewer.id, reviewer.openReviews, reviewer.tieBreak);
+        heap.add(entry);
+        if (reviewer.department != null) {
+            departmentHeaps.get(reviewer.department).add(entry);
+        }
+        // Drop outdated entries once they outnumber the live ones
+        if (heap.size() > 4 * reviewers.size() + 64) {
+            rebuildHeaps();
+        }
+    }
+
+    private void reload() {
+        Map<Long, Long> openReviews = new HashMap<>();
+        for (Object[] row : reviewRepository.countOpenReviewsByReviewer()) {
+            openReviews.put((Long) row[0], (Long) row[1]);
+        }
+        List<Object[]> rows = new ArrayList<>(userRepository.findIdAndDepartmentByRole(UserRole.REVIEWER));
+        // Thứ tự ngẫu nhiên giữa các reviewer cùng tải
+        Collections.shuffle(rows);
+
+        reviewers.clear();
+        for (int i = 0; i < rows.size(); i++) {
+            Long id = (Long) rows.get(i)[0];
+            reviewers.put(id, new ReviewerLoad(id, (String) rows.get(i)[1], openReviews.getOrDefault(id, 0L), i));
+        }
+        rebuildHeaps();
+        stale = false;
+        log.debug("Reviewer assignment loaded {} reviewers", reviewers.size());
+    }
+
+    private void rebuildHeaps() {
+        heap.clear();
+        departmentHeaps.clear();
+        for (ReviewerLoad reviewer : reviewers.values()) {
+            HeapEntry entry = new HeapEntry(reviewer.id, reviewer.openReviews, reviewer.tieBreak);
+            heap.add(entry);
+            if (reviewer.department != null) {
+                departmentHeaps.computeIfAbsent(reviewer.department, department -> new PriorityQueue<>(BY_LOAD))
+                        .add(entry);
+            }
+        }
+    }
+
+    private void runAfterCompletion(Consumer<Boolean> callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private static final class ReviewerLoad {
+        private final Long id;
+        private final String department;
+        private final int tieBreak;
+        private long openReviews;
+
+        private ReviewerLoad(Long id, String department, long openReviews, int tieBreak) {
+            this.id = id;
+            this.department = department;
+            this.openReviews = openReviews;
+            this.tieBreak = tieBreak;
+        }
+    }
+
+    private record HeapEntry(Long reviewerId, long openReviews, int tieBreak) {
+    }
+}
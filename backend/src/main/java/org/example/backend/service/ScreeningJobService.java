@@ -0,0 +1,320 @@
+package org.example.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.entity.ScreeningJob;
+import org.example.backend.entity.Topic;
+import org.example.backend.enums.ScreeningJobStatus;
+import org.example.backend.enums.TopicStatus;
+import org.example.backend.exception.ScreeningQueueFullException;
+import org.example.backend.exception.TopicVersionChangedException;
+import org.example.backend.repository.ScreeningJobRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Durable queue for AI screening.
+ * Submitting a topic stores a screening job in the same transaction; a dispatcher
+ * claims due jobs (nearest semester deadline first) up to the configured
+ * concurrency; the optional LLM review is requested before a worker is taken.
+ * Failed jobs are retried with exponential backoff, and jobs or
+ * PROCESSING topics left behind by a restart are picked up again on startup.
+ */
+@Service
+@Slf4j
+public class ScreeningJobService {
+
+    private static final List<ScreeningJobStatus> ACTIVE_STATUSES = List.of(
+            ScreeningJobStatus.PENDING, ScreeningJobStatus.RUNNING);
+    private static final List<ScreeningJobStatus> QUEUED_STATUSES = List.of(ScreeningJobStatus.PENDING);
+    private static final Duration MAX_RETRY_DELAY = Duration.ofHours(1);
+
+    private final ScreeningJobRepository screeningJobRepository;
+    private final TopicService topicService;
+    private final AIService aiService;
+    private final Executor screeningExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${ai.screening.concurrency:4}")
+    private int concurrency;
+
+    @Value("${ai.screening.max-backlog:500}")
+    private int maxBacklog;
+
+    @Value("${ai.screening.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${ai.screening.retry-base-seconds:30}")
+    private long retryBaseSeconds;
+
+    // Longer than a screening can take, including the wait for the LLM review
+    @Value("${ai.screening.lease-minutes:15}")
+    private long leaseMinutes;
+
+    private final AtomicInteger running = new AtomicInteger();
+
+    public ScreeningJobService(ScreeningJobRepository screeningJobRepository,
+            TopicService topicService,
+            AIService aiService,
+            @Qualifier("screeningExecutor") Executor screeningExecutor,
+            PlatformTransactionManager transactionManager) {
+        this.screeningJobRepository = screeningJobRepository;
+        this.topicService = topicService;
+        this.aiService = aiService;
+        this.screeningExecutor = screeningExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Dispatch may run from an afterCommit callback, so claims need their own transaction
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Submit a topic and queue its AI screening
+     */
+    @Transactional
+    public Topic submit(Long topicId) {
+        ensureCapacity();
+        Topic topic = topicService.submit(topicId);
+        enqueue(topic);
+        return topic;
+    }
+
+    /**
+     * Bump the topic version and queue a new AI screening
+     */
+    @Transactional
+    public Topic resubmit(Long topicId) {
+        ensureCapacity();
+        Topic topic = topicService.incrementVersion(topicId);
+        enqueue(topic);
+        return topic;
+    }
+
+    public Optional<ScreeningJob> findLatest(Long topicId) {
+        return screeningJobRepository.findFirstByTopicIdOrderByIdDesc(topicId);
+    }
+
+    public long countBacklog() {
+        return screeningJobRepository.countByStatusIn(ACTIVE_STATUSES);
+    }
+
+    /**
+     * Requeue running jobs whose lease has expired and create jobs for PROCESSING
+     * topics that have none
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        transactionTemplate.executeWithoutResult(status -> {
+            int requeued = requeueExpired();
+            List<Topic> stuckTopics = screeningJobRepository.findProcessingTopicsWithoutJob();
+            stuckTopics.forEach(this::createJob);
+            if (requeued > 0 || !stuckTopics.isEmpty()) {
+                log.info("Screening recovery: {} jobs requeued, {} PROCESSING topics queued", requeued, stuckTopics.size());
+            }
+        });
+        dispatch();
+    }
+
+    /**
+     * Jobs of another instance are only taken over once their lease has run out,
+     * so a restart never starts a job that is still running elsewhere
+     */
+    @Scheduled(fixedDelayString = "${ai.screening.lease-check-ms:60000}")
+    public void recoverExpiredLeases() {
+        Integer requeued = transactionTemplate.execute(status -> requeueExpired());
+        if (requeued != null && requeued > 0) {
+            log.warn("Screening: {} jobs with an expired lease requeued", requeued);
+            dispatch();
+        }
+    }
+
+    private int requeueExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        return screeningJobRepository.requeueExpired(now.minusMinutes(leaseMinutes), now);
+    }
+
+    /**
+     * Start due jobs while there are free workers
+     */
+    @Scheduled(fixedDelayString = "${ai.screening.poll-ms:5000}")
+    public synchronized void dispatch() {
+        int free = concurrency - running.get();
+        if (free <= 0) {
+            return;
+        }
+        List<Long> dueJobIds = screeningJobRepository.findDueJobIds(LocalDateTime.now(), PageRequest.of(0, free));
+        for (Long jobId : dueJobIds) {
+            // Conditional update, so a job is never started twice (also across instances)
+            Integer claimed = transactionTemplate.execute(status ->
+                    screeningJobRepository.claim(jobId, LocalDateTime.now()));
+            if (claimed != null && claimed == 1) {
+                running.incrementAndGet();
+                // The LLM review is awaited without holding a worker, the job takes one once it is done
+                prefetchLlmReview(jobId).whenComplete((ignored, error) -> start(jobId));
+            }
+        }
+    }
+
+    private void start(Long jobId) {
+        try {
+            screeningExecutor.execute(() -> run(jobId));
+        } catch (RejectedExecutionException e) {
+            // Không có worker nhận job: trả job về hàng đợi, lần poll sau sẽ chạy lại
+            log.warn("Screening executor rejected job {}, putting it back in the queue", jobId);
+            try {
+                transactionTemplate.execute(status -> screeningJobRepository.unclaim(jobId, LocalDateTime.now()));
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+    }
+
+    private CompletableFuture<Void> prefetchLlmReview(Long jobId) {
+        try {
+            return screeningJobRepository.findById(jobId)
+                    .flatMap(job -> topicService.findById(job.getTopicId()))
+                    .map(aiService::prefetchLlmReview)
+                    .orElseGet(() -> CompletableFuture.completedFuture(null));
+        } catch (Exception e) {
+            log.warn("Could not start LLM review for screening job {}", jobId, e);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private void run(Long jobId) {
+        try {
+            ScreeningJob job = screeningJobRepository.findById(jobId).orElse(null);
+            if (job == null) {
+                return;
+            }
+            try {
+                // AI_PASSED: an earlier attempt stopped at reviewer assignment
+                boolean pending = topicService.findById(job.getTopicId())
+                        .map(topic -> topic.getStatus() == TopicStatus.PROCESSING
+                                || topic.getStatus() == TopicStatus.AI_PASSED)
+                        .orElse(false);
+                if (!pending) {
+                    finish(job, ScreeningJobStatus.CANCELLED, null);
+                    return;
+                }
+                aiService.processTopic(job.getTopicId(), job.getTopicVersion());
+                finish(job, ScreeningJobStatus.SUCCEEDED, null);
+            } catch (TopicVersionChangedException e) {
+                supersede(job);
+            } catch (Exception e) {
+                retryOrFail(job, e);
+            }
+        } finally {
+            running.decrementAndGet();
+            dispatch();
+        }
+    }
+
+    /**
+     * The topic was resubmitted after this job was queued: the job of the new version screens it,
+     * or this job is requeued for the new version if there is none
+     */
+    private void supersede(ScreeningJob job) {
+        Integer currentVersion = topicService.findById(job.getTopicId()).map(Topic::getVersion).orElse(null);
+        if (currentVersion == null
+                || screeningJobRepository.findFirstByTopicIdAndStatusIn(job.getTopicId(), QUEUED_STATUSES).isPresent()) {
+            finish(job, ScreeningJobStatus.CANCELLED, "Superseded by a newer topic version");
+            return;
+        }
+        log.info("Topic {} changed to version {} during screening, requeueing", job.getTopicId(), currentVersion);
+        job.setTopicVersion(currentVersion);
+        job.setStatus(ScreeningJobStatus.PENDING);
+        job.setNextAttemptAt(LocalDateTime.now());
+        screeningJobRepository.save(job);
+    }
+
+    private void retryOrFail(ScreeningJob job, Exception error) {
+        String message = error.getCause() != null ? error.getCause().getMessage() : error.getMessage();
+        if (job.getAttempts() >= maxAttempts) {
+            log.error("Screening of topic {} failed after {} attempts", job.getTopicId(), job.getAttempts(), error);
+            finish(job, ScreeningJobStatus.FAILED, message);
+            // Không để đề tài kẹt ở PROCESSING, giảng viên có thể nộp lại
+            topicService.updateAIResults(job.getTopicId(), false,
+                    "AI screening could not be completed, please resubmit the topic.", null, null);
+            return;
+        }
+
+        long delaySeconds = retryBaseSeconds << Math.min(job.getAttempts() - 1, 20);
+        Duration delay = Duration.ofSeconds(delaySeconds).compareTo(MAX_RETRY_DELAY) > 0
+                ? MAX_RETRY_DELAY
+                : Duration.ofSeconds(delaySeconds);
+        log.warn("Screening of topic {} failed (attempt {}), retrying in {}s: {}",
+                job.getTopicId(), job.getAttempts(), delay.getSeconds(), message);
+
+        job.setStatus(ScreeningJobStatus.PENDING);
+        job.setNextAttemptAt(LocalDateTime.now().plus(delay));
+        job.setLastError(truncate(message));
+        screeningJobRepository.save(job);
+    }
+
+    private void finish(ScreeningJob job, ScreeningJobStatus status, String error) {
+        job.setStatus(status);
+        job.setFinishedAt(LocalDateTime.now());
+        job.setLastError(truncate(error));
+        screeningJobRepository.save(job);
+    }
+
+    private void enqueue(Topic topic) {
+        // A queued job screens the latest content anyway; a running one may be on the previous version
+        if (screeningJobRepository.findFirstByTopicIdAndStatusIn(topic.getId(), QUEUED_STATUSES).isPresent()) {
+            return;
+        }
+        createJob(topic);
+        runAfterCommit(this::dispatch);
+    }
+
+    private void createJob(Topic topic) {
+        screeningJobRepository.save(ScreeningJob.builder()
+                .topicId(topic.getId())
+                .topicVersion(topic.getVersion())
+                .deadline(topic.getSemester().getTopicSubmissionClose())
+                .status(ScreeningJobStatus.PENDING)
+                .build());
+    }
+
+    private void ensureCapacity() {
+        if (countBacklog() >= maxBacklog) {
+            throw new ScreeningQueueFullException("AI screening queue is full, please try again in a few minutes");
+        }
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
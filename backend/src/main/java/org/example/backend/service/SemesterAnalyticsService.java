@@ -0,0 +1,257 @@
+package org.example.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.dto.SemesterAnalytics;
+import org.example.backend.enums.RegistrationStatus;
+import org.example.backend.enums.TeamStatus;
+import org.example.backend.enums.TopicStatus;
+import org.example.backend.enums.UserRole;
+import org.example.backend.event.UserChangedEvent;
+import org.example.backend.repository.RegistrationRepository;
+import org.example.backend.repository.ReviewRepository;
+import org.example.backend.repository.TeamRepository;
+import org.example.backend.repository.TopicRepository;
+import org.example.backend.repository.UserRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Materialized per-semester counters for the coordinator statistics.
+ * Counters are loaded with grouped queries on startup (or when rebuilt on demand)
+ * and then kept current by the service write paths, which report each change here;
+ * changes are applied once their transaction commits. Changes committed while a
+ * rebuild is loading are recorded and replayed on the loaded counters when they are
+ * swapped in, so a rebuild does not lose them. Reading the statistics only counts
+ * the unregistered READY teams in the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SemesterAnalyticsService {
+
+    private final TopicRepository topicRepository;
+    private final TeamRepository teamRepository;
+    private final RegistrationRepository registrationRepository;
+    private final ReviewRepository reviewRepository;
+    private final UserRepository userRepository;
+
+    private final ConcurrentMap<Long, Counters> counters = new ConcurrentHashMap<>();
+    private final AtomicLong students = new AtomicLong();
+    // Changes are applied under the read lock, loaded counters are swapped in under the write lock
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final List<Rebuild> rebuilds = new CopyOnWriteArrayList<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAll() {
+        int semesters = rebuild(null, loaded -> {
+            counters.clear();
+            counters.putAll(loaded);
+        });
+        log.info("Semester analytics loaded for {} semesters", semesters);
+    }
+
+    /**
+     * Recount a semester from the database, e.g. after data was changed outside the application
+     */
+    public SemesterAnalytics rebuild(Long semesterId) {
+        rebuild(semesterId, loaded -> counters.put(semesterId, loaded.getOrDefault(semesterId, new Counters())));
+        return get(semesterId);
+    }
+
+    public SemesterAnalytics get(Long semesterId) {
+        // Semesters created after startup start empty and only change through the write paths
+        Counters semester = countersOf(semesterId);
+        Map<TopicStatus, Long> topics = toMap(TopicStatus.class, semester.topics);
+        Map<TeamStatus, Long> teams = toMap(TeamStatus.class, semester.teams);
+        Map<RegistrationStatus, Long> registrations = toMap(RegistrationStatus.class, semester.registrations);
+        long inTeams = semester.teamMembers.get();
+        // Only READY teams without a PENDING registration still have to register
+        return new SemesterAnalytics(semesterId, topics, teams, registrations,
+                teamRepository.countUnregisteredReady(semesterId), inTeams, Math.max(0, students.get() - inTeams),
+                semester.openReviews.get(), semester.rebuiltAt);
+    }
+
+    /**
+     * Topic created (from null), deleted (to null) or moved to another status
+     */
+    public void topicStatusChanged(Long semesterId, TopicStatus from, TopicStatus to) {
+        afterCommit(semesterId, semester -> move(semester.topics, from, to));
+    }
+
+    public void teamStatusChanged(Long semesterId, TeamStatus from, TeamStatus to) {
+        afterCommit(semesterId, semester -> move(semester.teams, from, to));
+    }
+
+    public void registrationStatusChanged(Long semesterId, RegistrationStatus from, RegistrationStatus to) {
+        afterCommit(semesterId, semester -> move(semester.registrations, from, to));
+    }
+
+    public void teamMembersChanged(Long semesterId, long delta) {
+        afterCommit(semesterId, semester -> semester.teamMembers.addAndGet(delta));
+    }
+
+    public void openReviewsChanged(Long semesterId, long delta) {
+        afterCommit(semesterId, semester -> semester.openReviews.addAndGet(delta));
+    }
+
+    /**
+     * Students registered, deleted or changed role
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        students.set(userRepository.countByRole(UserRole.STUDENT));
+    }
+
+    /**
+     * Load counters (one semester, or all when semesterId is null) and swap them in;
+     * changes committed during the load are replayed on the loaded counters first
+     *
+     * @return number of semesters loaded
+     */
+    private int rebuild(Long semesterId, Consumer<Map<Long, Counters>> swap) {
+        Rebuild rebuild = new Rebuild(semesterId);
+        rebuilds.add(rebuild);
+        try {
+            Map<Long, Counters> loaded = load(semesterId);
+            swapLock.writeLock().lock();
+            try {
+                for (Change change : rebuild.changes) {
+                    change.action().accept(countersOf(loaded, change.semesterId()));
+                }
+                swap.accept(loaded);
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            students.set(userRepository.countByRole(UserRole.STUDENT));
+            return loaded.size();
+        } finally {
+            rebuilds.remove(rebuild);
+        }
+    }
+
+    private void apply(Change change) {
+        swapLock.readLock().lock();
+        try {
+            change.action().accept(countersOf(change.semesterId()));
+            for (Rebuild rebuild : rebuilds) {
+                if (rebuild.covers(change.semesterId())) {
+                    synchronized (rebuild.changes) {
+                        rebuild.changes.add(change);
+                    }
+                }
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Counters> load(Long semesterId) {
+        Map<Long, Counters> loaded = new HashMap<>();
+        for (Object[] row : topicRepository.countBySemesterAndStatus(semesterId)) {
+            countersOf(loaded, row[0]).topics.set(((TopicStatus) row[1]).ordinal(), (Long) row[2]);
+        }
+        for (Object[] row : teamRepository.countBySemesterAndStatus(semesterId)) {
+            Counters semester = countersOf(loaded, row[0]);
+            semester.teams.set(((TeamStatus) row[1]).ordinal(), (Long) row[2]);
+            semester.teamMembers.addAndGet(((Number) row[3]).longValue());
+        }
+        for (Object[] row : registrationRepository.countBySemesterAndStatus(semesterId)) {
+            countersOf(loaded, row[0]).registrations.set(((RegistrationStatus) row[1]).ordinal(), (Long) row[2]);
+        }
+        for (Object[] row : reviewRepository.countOpenReviewsBySemester(semesterId)) {
+            countersOf(loaded, row[0]).openReviews.set((Long) row[1]);
+        }
+        return loaded;
+    }
+
+    private Counters countersOf(Long semesterId) {
+        return counters.computeIfAbsent(semesterId, id -> new Counters());
+    }
+
+    private static Counters countersOf(Map<Long, Counters> loaded, Object semesterId) {
+        return loaded.computeIfAbsent((Long) semesterId, id -> new Counters());
+    }
+
+    private static <E extends Enum<E>> void move(AtomicLongArray counts, E from, E to) {
+        if (from == to) {
+            return;
+        }
+        if (from != null) {
+            counts.decrementAndGet(from.ordinal());
+        }
+        if (to != null) {
+            counts.incrementAndGet(to.ordinal());
+        }
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> toMap(Class<E> type, AtomicLongArray counts) {
+        Map<E, Long> map = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            map.put(value, counts.get(value.ordinal()));
+        }
+        return map;
+    }
+
+    private void afterCommit(Long semesterId, Consumer<Counters> action) {
+        Change change = new Change(semesterId, action);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    private record Change(Long semesterId, Consumer<Counters> action) {
+    }
+
+    /**
+     * A running rebuild and the changes committed since it started loading
+     * (a class, not a record: rebuilds are told apart by identity)
+     */
+    private static final class Rebuild {
+        private final Long semesterId;
+        private final List<Change> changes = new ArrayList<>();
+
+        private Rebuild(Long semesterId) {
+            this.semesterId = semesterId;
+        }
+
+        private boolean covers(Long changedSemesterId) {
+            return semesterId == null || semesterId.equals(changedSemesterId);
+        }
+    }
+
+    private static final class Counters {
+        private final AtomicLongArray topics = new AtomicLongArray(TopicStatus.values().length);
+        private final AtomicLongArray teams = new AtomicLongArray(TeamStatus.values().length);
+        private final AtomicLongArray registrations = new AtomicLongArray(RegistrationStatus.values().length);
+        private final AtomicLong teamMembers = new AtomicLong();
+        private final AtomicLong openReviews = new AtomicLong();
+        private final LocalDateTime rebuiltAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.backend.service;
+
+import org.example.backend.entity.KeySequence;
+import org.example.backend.repository.KeySequenceRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Hands out values of named sequences stored in key_sequences.
+ * Values are reserved in blocks with a single UPDATE in their own transaction,
+ * so most calls are served from memory and values are never handed out twice,
+ * also across instances. Values of a block not used before a restart are skipped.
+ */
+@Component
+public class SequenceAllocator {
+
+    private final KeySequenceRepository keySequenceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public SequenceAllocator(KeySequenceRepository keySequenceRepository,
+            PlatformTransactionManager transactionManager) {
+        this.keySequenceRepository = keySequenceRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Một block đã cấp không được trả lại khi giao dịch của người gọi rollback
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Next value of the sequence, starting at 1
+     */
+    public long next(String name, int blockSize) {
+        return next(name, blockSize, () -> 0L);
+    }
+
+    /**
+     * Next value of the sequence. A sequence that does not exist yet continues
+     * after lastUsed, which is only evaluated when the sequence is created.
+     */
+    public long next(String name, int blockSize, LongSupplier lastUsed) {
+        Block block = blocks.computeIfAbsent(name, key -> new Block());
+        synchronized (block) {
+            if (block.next >= block.limit) {
+                block.next = reserve(name, blockSize, lastUsed);
+                block.limit = block.next + blockSize;
+            }
+            return block.next++;
+        }
+    }
+
+    /**
+     * @return first value of a newly reserved block
+     */
+    private long reserve(String name, int blockSize, LongSupplier lastUsed) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                Long start = transactionTemplate.execute(status -> {
+                    if (keySequenceRepository.advance(name, blockSize) == 1) {
+                        return keySequenceRepository.findNextValue(name) - blockSize;
+                    }
+                    long first = lastUsed.getAsLong() + 1;
+                    keySequenceRepository.saveAndFlush(KeySequence.builder()
+                            .name(name)
+                            .nextValue(first + blockSize)
+                            .build());
+                    return first;
+                });
+                return start;
+            } catch (DataIntegrityViolationException e) {
+                // Another instance created the sequence at the same time, advance it instead
+            }
+        }
+        throw new IllegalStateException("Could not reserve values of sequence " + name);
+    }
+
+    private static final class Block {
+        private long next;
+        private long limit;
+    }
+}
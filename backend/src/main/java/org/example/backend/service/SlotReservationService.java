@@ -0,0 +1,188 @@
+package org.example.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.entity.Topic;
+import org.example.backend.enums.RegistrationStatus;
+import org.example.backend.event.TopicChangedEvent;
+import org.example.backend.repository.TopicRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * FCFS slot reservation for topic registration.
+ * Each topic has an in-memory counter for cheap slot reads; it is only a hint.
+ * Every reservation goes through the conditional UPDATE on topics.registered_teams,
+ * which stays the source of truth and only locks the row of the topic being registered.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SlotReservationService {
+
+    private static final List<RegistrationStatus> ACTIVE_STATUSES = List.of(
+            RegistrationStatus.PENDING, RegistrationStatus.APPROVED, RegistrationStatus.FINALIZED);
+    private static final int RESYNC_CHUNK_SIZE = 1000;
+
+    private final TopicRepository topicRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // topicId -> số slot đã giữ
+    private final ConcurrentMap<Long, AtomicInteger> reservedSlots = new ConcurrentHashMap<>();
+
+    /**
+     * Rebuild counters on startup; registeredTeams is only rewritten for topics that drifted
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuild() {
+        int drifted = resyncDrifted();
+        if (drifted > 0) {
+            log.warn("registeredTeams did not match the registrations of {} topics, resynced", drifted);
+        }
+
+        reservedSlots.clear();
+        for (Object[] row : topicRepository.findOccupiedSlots()) {
+            reservedSlots.put((Long) row[0], new AtomicInteger((Integer) row[1]));
+        }
+        log.info("Slot counters rebuilt for {} topics", reservedSlots.size());
+    }
+
+    /**
+     * Recount registeredTeams of the topics whose value drifted from their active registrations
+     * (also on demand, POST /api/topics/slots/resync)
+     *
+     * @return number of topics that were corrected
+     */
+    @Transactional
+    public int resyncDrifted() {
+        List<Topic> drifted = topicRepository.findWithSlotDrift(ACTIVE_STATUSES);
+        List<Long> topicIds = drifted.stream().map(Topic::getId).toList();
+        for (int from = 0; from < topicIds.size(); from += RESYNC_CHUNK_SIZE) {
+            topicRepository.syncRegisteredTeams(
+                    topicIds.subList(from, Math.min(from + RESYNC_CHUNK_SIZE, topicIds.size())), ACTIVE_STATUSES);
+        }
+        topicIds.forEach(this::resync);
+        drifted.forEach(topic -> eventPublisher.publishEvent(TopicChangedEvent.of(topic)));
+        return drifted.size();
+    }
+
+    /**
+     * Reserve one slot of the topic inside the current transaction.
+     * The reservation is given back automatically if the transaction rolls back.
+     *
+     * @return number of occupied slots after the reservation
+     */
+    public int reserve(Topic topic) {
+        AtomicInteger counter = counterFor(topic);
+        boolean counted = tryIncrement(counter, topic.getMaxTeams());
+        AtomicBoolean givenBack = new AtomicBoolean(!counted);
+        // Registered before the UPDATE, so a failing statement also gives the slot back
+        runAfterCompletion(committed -> {
+            if (!committed && givenBack.compareAndSet(false, true)) {
+                counter.decrementAndGet();
+            }
+        });
+
+        // The counter is only a hint (another instance may have released a slot), the UPDATE decides
+        if (topicRepository.reserveSlot(topic.getId()) == 0) {
+            if (givenBack.compareAndSet(false, true)) {
+                counter.decrementAndGet();
+            }
+            resync(topic.getId());
+            throw new RuntimeException("Topic has no available slots");
+        }
+        if (!counted) {
+            // Counter was behind the database, read it again once this transaction is done
+            runAfterCompletion(committed -> resync(topic.getId()));
+        }
+        return occupiedInDatabase(topic);
+    }
+
+    /**
+     * Give back one slot of the topic (registration rejected or removed).
+     *
+     * @return number of occupied slots after the release
+     */
+    public int release(Topic topic) {
+        AtomicInteger counter = counterFor(topic);
+        if (topicRepository.releaseSlot(topic.getId()) == 0) {
+            // Nothing was held in the database, the counter must not go down either
+            log.warn("No occupied slot to release for topic {}", topic.getId());
+            return occupiedInDatabase(topic);
+        }
+
+        runAfterCompletion(committed -> {
+            if (committed) {
+                counter.updateAndGet(value -> Math.max(0, value - 1));
+            }
+        });
+        return occupiedInDatabase(topic);
+    }
+
+    public int occupiedSlots(Topic topic) {
+        return counterFor(topic).get();
+    }
+
+    public int remainingSlots(Topic topic) {
+        return Math.max(0, topic.getMaxTeams() - occupiedSlots(topic));
+    }
+
+    public static boolean isActive(RegistrationStatus status) {
+        return ACTIVE_STATUSES.contains(status);
+    }
+
+    private AtomicInteger counterFor(Topic topic) {
+        return reservedSlots.computeIfAbsent(topic.getId(),
+                id -> new AtomicInteger(topic.getRegisteredTeams() != null ? topic.getRegisteredTeams() : 0));
+    }
+
+    private static boolean tryIncrement(AtomicInteger counter, int capacity) {
+        int current;
+        do {
+            current = counter.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!counter.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    // The topic row is locked by our UPDATE, so this is exact for the rest of the transaction
+    private int occupiedInDatabase(Topic topic) {
+        Integer occupied = topicRepository.findRegisteredTeams(topic.getId());
+        return occupied != null ? occupied : 0;
+    }
+
+    private void resync(Long topicId) {
+        Integer occupied = topicRepository.findRegisteredTeams(topicId);
+        if (occupied != null) {
+            reservedSlots.computeIfAbsent(topicId, id -> new AtomicInteger()).set(occupied);
+        }
+    }
+
+    private void runAfterCompletion(Consumer<Boolean> callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+}
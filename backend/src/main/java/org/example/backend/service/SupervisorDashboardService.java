@@ -0,0 +1,132 @@
+package org.example.backend.service;
+
+import org.example.backend.dto.RegistrationResponse;
+import org.example.backend.dto.SupervisorDashboard;
+import org.example.backend.enums.RegistrationStatus;
+import org.example.backend.enums.TopicStatus;
+import org.example.backend.event.TopicChangedEvent;
+import org.example.backend.repository.RegistrationRepository;
+import org.example.backend.repository.TopicRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Supervisor dashboard built from grouped queries instead of full entity lists.
+ * Snapshots are cached per supervisor for a short time and dropped when one of
+ * the supervisor's topics or their registrations change (TopicChangedEvent),
+ * using the same version check as TopicCatalogCache. The unread notification
+ * count is not cached here, it comes from UnreadNotificationCounter.
+ */
+@Service
+public class SupervisorDashboardService {
+
+    private static final int PENDING_LIMIT = 10;
+    // Topics whose slots count towards utilization (passed review)
+    private static final Set<TopicStatus> SLOT_STATUSES = EnumSet.of(
+            TopicStatus.APPROVED, TopicStatus.PUBLISHED, TopicStatus.REGISTERED, TopicStatus.FINALIZED);
+
+    private final TopicRepository topicRepository;
+    private final RegistrationRepository registrationRepository;
+    private final SemesterService semesterService;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final long ttlMillis;
+
+    private final ConcurrentMap<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    public SupervisorDashboardService(TopicRepository topicRepository,
+            RegistrationRepository registrationRepository,
+            SemesterService semesterService,
+            UnreadNotificationCounter unreadNotificationCounter,
+            @Value("${dashboard.supervisor.cache-ttl-seconds:30}") long ttlSeconds) {
+        this.topicRepository = topicRepository;
+        this.registrationRepository = registrationRepository;
+        this.semesterService = semesterService;
+        this.unreadNotificationCounter = unreadNotificationCounter;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /**
+     * Dashboard for the active semester, or over all semesters when none is active
+     */
+    @Transactional(readOnly = true)
+    public SupervisorDashboard getDashboard(Long supervisorId) {
+        Long semesterId = semesterService.getActiveSemester().map(semester -> semester.getId()).orElse(null);
+        long version = versionOf(supervisorId).get();
+        Snapshot snapshot = snapshots.get(supervisorId);
+        if (snapshot == null || snapshot.version() != version || !Objects.equals(snapshot.semesterId(), semesterId)
+                || snapshot.loadedAt() + ttlMillis < System.currentTimeMillis()) {
+            Snapshot loaded = load(supervisorId, semesterId, version);
+            // Keep whichever snapshot is newer if another reader loaded concurrently
+            snapshot = snapshots.merge(supervisorId, loaded,
+                    (current, fresh) -> current.version() > fresh.version() ? current : fresh);
+        }
+
+        SupervisorDashboard data = snapshot.dashboard();
+        return new SupervisorDashboard(data.supervisorId(), data.semesterId(), data.topicsByStatus(),
+                data.registrationsByStatus(), data.totalSlots(), data.usedSlots(), data.slotUtilization(),
+                data.pendingRegistrations(), unreadNotificationCounter.get(supervisorId), data.generatedAt());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTopicChanged(TopicChangedEvent event) {
+        if (event.supervisorId() == null) {
+            return;
+        }
+        versionOf(event.supervisorId()).incrementAndGet();
+        snapshots.remove(event.supervisorId());
+    }
+
+    private Snapshot load(Long supervisorId, Long semesterId, long version) {
+        Map<TopicStatus, Long> topicsByStatus = new EnumMap<>(TopicStatus.class);
+        long totalSlots = 0;
+        long usedSlots = 0;
+        for (Object[] row : topicRepository.summarizeBySupervisor(supervisorId, semesterId)) {
+            TopicStatus status = (TopicStatus) row[0];
+            topicsByStatus.put(status, (Long) row[1]);
+            if (SLOT_STATUSES.contains(status)) {
+                totalSlots += ((Number) row[2]).longValue();
+                usedSlots += ((Number) row[3]).longValue();
+            }
+        }
+
+        Map<RegistrationStatus, Long> registrationsByStatus = new EnumMap<>(RegistrationStatus.class);
+        for (Object[] row : registrationRepository.countBySupervisorGroupByStatus(supervisorId, semesterId)) {
+            registrationsByStatus.put((RegistrationStatus) row[0], (Long) row[1]);
+        }
+
+        List<RegistrationResponse> pending = registrationRepository
+                .findOldestPendingBySupervisor(supervisorId, semesterId, PageRequest.of(0, PENDING_LIMIT))
+                .stream()
+                .map(RegistrationResponse::from)
+                .toList();
+
+        SupervisorDashboard dashboard = new SupervisorDashboard(supervisorId, semesterId,
+                Collections.unmodifiableMap(topicsByStatus), Collections.unmodifiableMap(registrationsByStatus),
+                totalSlots, usedSlots, totalSlots == 0 ? 0 : (double) usedSlots / totalSlots, pending, 0,
+                LocalDateTime.now());
+        return new Snapshot(version, semesterId, System.currentTimeMillis(), dashboard);
+    }
+
+    private AtomicLong versionOf(Long supervisorId) {
+        return versions.computeIfAbsent(supervisorId, id -> new AtomicLong());
+    }
+
+    private record Snapshot(long version, Long semesterId, long loadedAt, SupervisorDashboard dashboard) {
+    }
+}
@@ -1,67 +1,74 @@
 package org.example.backend.service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.dto.TeamMemberResponse;
+import org.example.backend.dto.TeamResponse;
 import org.example.backend.entity.*;
 import org.example.backend.enums.TeamMemberRole;
 import org.example.backend.enums.TeamStatus;
 import org.example.backend.repository.*;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 @Transactional
 public class TeamService {
 
     private static final int MIN_TEAM_SIZE = 4;
     private static final int MAX_TEAM_SIZE = 5;
+    private static final String MEMBERSHIP_INDEX = "uk_team_members_user_semester";
+    private static final int REPORTED_DUPLICATES = 20;
 
     private final TeamRepository teamRepository;
     private final TeamMemberRepository teamMemberRepository;
     private final SemesterRepository semesterRepository;
     private final NotificationService notificationService;
+    private final InviteCodeService inviteCodeService;
+    private final SemesterAnalyticsService semesterAnalyticsService;
+    private final JdbcTemplate jdbcTemplate;
 
-    /**
-     * Generate unique invite code
-     */
-    private String generateInviteCode() {
-        String code;
-        do {
-            code = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        } while (teamRepository.existsByInviteCode(code));
-        return code;
-    }
+    @PersistenceContext
+    private EntityManager entityManager;
 
     public Team create(User leader, Long semesterId, String name) {
         Semester semester = semesterRepository.findById(semesterId)
                 .orElseThrow(() -> new RuntimeException("Semester not found"));
 
-        // Check if user is already in a team for this semester
-        if (teamRepository.isUserInTeamForSemester(leader, semester)) {
-            throw new RuntimeException("User is already in a team for this semester");
-        }
-
         Team team = Team.builder()
                 .name(name)
-                .inviteCode(generateInviteCode())
+                .inviteCode(inviteCodeService.nextCode())
                 .leader(leader)
                 .semester(semester)
                 .status(TeamStatus.FORMING)
+                .memberCount(1)
                 .build();
 
-        Team savedTeam = teamRepository.save(team);
+        Team savedTeam = saveWithInviteCode(team);
 
-        // Add leader as first member
-        TeamMember leaderMember = TeamMember.builder()
-                .team(savedTeam)
-                .user(leader)
-                .role(TeamMemberRole.LEADER)
-                .build();
-        teamMemberRepository.save(leaderMember);
+        // Add leader as first member (fails if already in a team for this semester)
+        addMember(savedTeam, leader, TeamMemberRole.LEADER);
+        inviteCodeService.register(savedTeam.getInviteCode(), savedTeam.getId());
+        semesterAnalyticsService.teamStatusChanged(semester.getId(), null, savedTeam.getStatus());
 
         return savedTeam;
     }
@@ -70,46 +77,64 @@ public class TeamService {
         return teamRepository.findById(id);
     }
 
+    public List<Team> findAllById(Collection<Long> ids) {
+        return teamRepository.findAllById(ids);
+    }
+
+    /**
+     * Resolved through the in-memory code map, then loaded by id
+     */
     public Optional<Team> findByInviteCode(String inviteCode) {
-        return teamRepository.findByInviteCode(inviteCode);
+        Optional<Team> team = inviteCodeService.resolve(inviteCode).flatMap(teamRepository::findById);
+        if (team.isPresent() && !team.get().getInviteCode().equals(InviteCodeService.normalize(inviteCode))) {
+            // Code was regenerated on another instance
+            inviteCodeService.unregister(InviteCodeService.normalize(inviteCode));
+            return Optional.empty();
+        }
+        return team;
     }
 
     public Optional<Team> findByUserAndSemester(User user, Semester semester) {
         return teamRepository.findByMemberAndSemester(user, semester);
     }
 
+    public boolean isMember(Long teamId, Long userId) {
+        return teamMemberRepository.existsByTeamAndUser(Team.builder().id(teamId).build(),
+                User.builder().id(userId).build());
+    }
+
     public List<Team> findBySemester(Semester semester) {
         return teamRepository.findBySemester(semester);
     }
 
+    /**
+     * Teams of the semester with leader and members, loaded with two queries
+     */
+    public List<TeamResponse> getTeamsBySemester(Semester semester) {
+        return toResponses(teamRepository.findWithLeaderBySemester(semester));
+    }
+
+    public TeamResponse toResponse(Team team) {
+        return toResponses(List.of(team)).get(0);
+    }
+
     public Team joinByInviteCode(User user, String inviteCode) {
-        Team team = teamRepository.findByInviteCode(inviteCode)
+        Team team = findByInviteCode(inviteCode)
                 .orElseThrow(() -> new RuntimeException("Invalid invite code"));
 
-        // Check if user is already in a team for this semester
-        if (teamRepository.isUserInTeamForSemester(user, team.getSemester())) {
-            throw new RuntimeException("User is already in a team for this semester");
-        }
-
-        // Check team size
-        Long currentSize = teamMemberRepository.countByTeam(team);
-        if (currentSize >= MAX_TEAM_SIZE) {
+        // Take a slot atomically, concurrent joins of the same team wait for each other here
+        if (teamRepository.addMember(team.getId(), MAX_TEAM_SIZE) == 0) {
             throw new RuntimeException("Team is full");
         }
 
-        // Add member
-        TeamMember member = TeamMember.builder()
-                .team(team)
-                .user(user)
-                .role(TeamMemberRole.MEMBER)
-                .build();
-        teamMemberRepository.save(member);
+        // Add member; the unique (user, semester) constraint rejects a second team
+        addMember(team, user, TeamMemberRole.MEMBER);
 
-        // Update team status
+        // Update team status (also reloads memberCount)
         updateTeamStatus(team);
 
         // Notify leader
-        notificationService.create(team.getLeader(),
+        notificationService.enqueue(team.getLeader(),
                 "New Team Member",
                 user.getFullName() + " has joined your team " + team.getName(),
                 "/teams/" + team.getId());
@@ -135,8 +160,7 @@ public class TeamService {
                 User.builder().id(userId).build())
                 .orElseThrow(() -> new RuntimeException("Member not found in team"));
 
-        teamMemberRepository.delete(member);
-        updateTeamStatus(team);
+        removeMember(team, member);
     }
 
     public void leaveTeam(Long teamId, User user) {
@@ -151,11 +175,10 @@ public class TeamService {
         TeamMember member = teamMemberRepository.findByTeamAndUser(team, user)
                 .orElseThrow(() -> new RuntimeException("User is not a member of this team"));
 
-        teamMemberRepository.delete(member);
-        updateTeamStatus(team);
+        removeMember(team, member);
 
         // Notify leader
-        notificationService.create(team.getLeader(),
+        notificationService.enqueue(team.getLeader(),
                 "Team Member Left",
                 user.getFullName() + " has left your team " + team.getName(),
                 "/teams/" + team.getId());
@@ -199,33 +222,133 @@ public class TeamService {
             throw new RuntimeException("Only leader can regenerate invite code");
         }
 
-        team.setInviteCode(generateInviteCode());
-        teamRepository.save(team);
+        inviteCodeService.unregister(team.getInviteCode());
+        team.setInviteCode(inviteCodeService.nextCode());
+        saveWithInviteCode(team);
+        inviteCodeService.register(team.getInviteCode(), team.getId());
         return team.getInviteCode();
     }
 
-    private void updateTeamStatus(Team team) {
-        Long memberCount = teamMemberRepository.countByTeam(team);
+    /**
+     * Recount members from team_members on startup (and fill semesterId of older rows)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void syncMemberCounts() {
+        teamMemberRepository.backfillSemesterIds();
+        ensureMembershipIndex();
+        teamRepository.syncMemberCounts();
+    }
 
-        if (memberCount >= MIN_TEAM_SIZE && memberCount <= MAX_TEAM_SIZE) {
-            if (team.getStatus() == TeamStatus.FORMING) {
-                team.setStatus(TeamStatus.READY);
-            }
-        } else if (memberCount < MIN_TEAM_SIZE) {
-            if (team.getStatus() == TeamStatus.READY) {
-                team.setStatus(TeamStatus.FORMING);
+    /**
+     * Một sinh viên chỉ thuộc một nhóm mỗi học kỳ. Created here rather than by Hibernate:
+     * on an existing table the index has to wait until older rows have their semester_id.
+     * Startup fails while students are still in several teams of one semester, so the
+     * application never runs without the constraint; the duplicates are listed in the error.
+     */
+    private void ensureMembershipIndex() {
+        Boolean exists = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String table = metaData.storesUpperCaseIdentifiers() ? "TEAM_MEMBERS" : "team_members";
+            try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), null, table, true, false)) {
+                while (indexes.next()) {
+                    if (MEMBERSHIP_INDEX.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                        return true;
+                    }
+                }
             }
+            return false;
+        });
+        if (Boolean.TRUE.equals(exists)) {
+            return;
+        }
+        List<String> duplicates = jdbcTemplate.query(
+                "SELECT user_id, semester_id, COUNT(*) AS teams FROM team_members "
+                        + "GROUP BY user_id, semester_id HAVING COUNT(*) > 1 ORDER BY semester_id, user_id",
+                (rs, rowNum) -> "user " + rs.getLong("user_id") + " in " + rs.getInt("teams")
+                        + " teams of semester " + rs.getObject("semester_id"));
+        if (!duplicates.isEmpty()) {
+            throw new RuntimeException("Cannot create " + MEMBERSHIP_INDEX
+                    + ", students in more than one team of a semester (" + duplicates.size() + "): "
+                    + String.join(", ", duplicates.subList(0, Math.min(duplicates.size(), REPORTED_DUPLICATES)))
+                    + ". Remove the extra memberships and restart");
+        }
+        jdbcTemplate.execute("CREATE UNIQUE INDEX " + MEMBERSHIP_INDEX + " ON team_members (user_id, semester_id)");
+        log.info("Created {}", MEMBERSHIP_INDEX);
+    }
+
+    private Team saveWithInviteCode(Team team) {
+        try {
+            return teamRepository.saveAndFlush(team);
+        } catch (DataIntegrityViolationException e) {
+            // Another team took the same random code at the same moment
+            throw new RuntimeException("Could not assign an invite code, please try again");
+        }
+    }
+
+    private void addMember(Team team, User user, TeamMemberRole role) {
+        try {
+            teamMemberRepository.saveAndFlush(TeamMember.builder()
+                    .team(team)
+                    .user(user)
+                    .semesterId(team.getSemester().getId())
+                    .role(role)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("User is already in a team for this semester");
+        }
+        semesterAnalyticsService.teamMembersChanged(team.getSemester().getId(), 1);
+    }
+
+    private void removeMember(Team team, TeamMember member) {
+        teamMemberRepository.delete(member);
+        teamRepository.removeMember(team.getId());
+        semesterAnalyticsService.teamMembersChanged(team.getSemester().getId(), -1);
+        updateTeamStatus(team);
+    }
+
+    /**
+     * Move the team between FORMING and READY with conditional updates on the row our
+     * member count update has locked, then reload the team from the database
+     */
+    private void updateTeamStatus(Team team) {
+        // Pending member changes first, the refresh below would otherwise discard them
+        entityManager.flush();
+        Long semesterId = team.getSemester().getId();
+        if (teamRepository.markReady(team.getId(), MIN_TEAM_SIZE, MAX_TEAM_SIZE) == 1) {
+            semesterAnalyticsService.teamStatusChanged(semesterId, TeamStatus.FORMING, TeamStatus.READY);
+        } else if (teamRepository.markForming(team.getId(), MIN_TEAM_SIZE) == 1) {
+            semesterAnalyticsService.teamStatusChanged(semesterId, TeamStatus.READY, TeamStatus.FORMING);
         }
+        entityManager.refresh(team);
+    }
 
-        teamRepository.save(team);
+    private List<TeamResponse> toResponses(List<Team> teams) {
+        if (teams.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<TeamMemberResponse>> membersByTeam = new HashMap<>();
+        for (TeamMember member : teamMemberRepository.findWithUserByTeamIn(teams)) {
+            membersByTeam.computeIfAbsent(member.getTeam().getId(), id -> new ArrayList<>())
+                    .add(TeamMemberResponse.from(member));
+        }
+        return teams.stream()
+                .map(team -> TeamResponse.from(team, membersByTeam.getOrDefault(team.getId(), List.of())))
+                .toList();
     }
 
     public boolean isTeamReady(Team team) {
-        Long memberCount = teamMemberRepository.countByTeam(team);
+        int memberCount = team.getMemberCount();
         return memberCount >= MIN_TEAM_SIZE && memberCount <= MAX_TEAM_SIZE;
     }
 
     public void delete(Long id) {
-        teamRepository.deleteById(id);
+        teamRepository.findById(id).ifPresent(team -> {
+            // Status and member count of the locked row, for the analytics deltas
+            entityManager.refresh(team, LockModeType.PESSIMISTIC_WRITE);
+            teamRepository.delete(team);
+            inviteCodeService.unregister(team.getInviteCode());
+            semesterAnalyticsService.teamStatusChanged(team.getSemester().getId(), team.getStatus(), null);
+            semesterAnalyticsService.teamMembersChanged(team.getSemester().getId(), -team.getMemberCount());
+        });
     }
 }
@@ -0,0 +1,89 @@
+package org.example.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.TopicCatalogEntry;
+import org.example.backend.entity.Topic;
+import org.example.backend.enums.TopicStatus;
+import org.example.backend.event.TopicChangedEvent;
+import org.example.backend.repository.TopicRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Read-through cache of the topics open for registration, one snapshot per semester,
+ * and of the PUBLISHED topic list of all semesters (GET /api/topics).
+ * Snapshots carry the version they were loaded at; every committed
+ * TopicChangedEvent bumps the version, so a snapshot loaded concurrently with a
+ * change is never served once the change is visible.
+ */
+@Service
+@RequiredArgsConstructor
+public class TopicCatalogCache {
+
+    private final TopicRepository topicRepository;
+
+    private final ConcurrentMap<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicLong publishedVersion = new AtomicLong();
+    private final AtomicReference<PublishedSnapshot> published = new AtomicReference<>();
+
+    public List<TopicCatalogEntry> getAvailable(Long semesterId) {
+        long version = versionOf(semesterId).get();
+        Snapshot snapshot = snapshots.get(semesterId);
+        if (snapshot != null && snapshot.version() == version) {
+            return snapshot.entries();
+        }
+
+        List<TopicCatalogEntry> entries = List.copyOf(topicRepository.findCatalogForRegistration(semesterId));
+        // Keep whichever snapshot is newer if another reader loaded concurrently
+        snapshots.merge(semesterId, new Snapshot(version, entries),
+                (current, loaded) -> current.version() >= loaded.version() ? current : loaded);
+        return entries;
+    }
+
+    /**
+     * PUBLISHED topics of all semesters, as entities (the public shape of GET /api/topics)
+     */
+    public List<Topic> getPublished() {
+        long version = publishedVersion.get();
+        PublishedSnapshot snapshot = published.get();
+        if (snapshot != null && snapshot.version() == version) {
+            return snapshot.topics();
+        }
+
+        List<Topic> topics = List.copyOf(topicRepository.findWithSupervisorAndSemesterByStatus(TopicStatus.PUBLISHED));
+        published.accumulateAndGet(new PublishedSnapshot(version, topics),
+                (current, loaded) -> current == null || loaded.version() > current.version() ? loaded : current);
+        return topics;
+    }
+
+    public long getVersion(Long semesterId) {
+        return versionOf(semesterId).get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTopicChanged(TopicChangedEvent event) {
+        publishedVersion.incrementAndGet();
+        if (event.semesterId() == null) {
+            return;
+        }
+        versionOf(event.semesterId()).incrementAndGet();
+        snapshots.remove(event.semesterId());
+    }
+
+    private AtomicLong versionOf(Long semesterId) {
+        return versions.computeIfAbsent(semesterId, id -> new AtomicLong());
+    }
+
+    private record Snapshot(long version, List<TopicCatalogEntry> entries) {
+    }
+
+    private record PublishedSnapshot(long version, List<Topic> topics) {
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.backend.entity.Semester;
+import org.example.backend.repository.TopicRepository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Topic codes: [Semester]-[Major][Sequence], e.g. SP26-SE005.
+ * Each (semester, major) prefix has its own sequence in SequenceAllocator, so concurrent
+ * creates never get the same code and most codes are handed out without a query.
+ * A new sequence continues after the highest code already used with the prefix.
+ */
+@Component
+@RequiredArgsConstructor
+public class TopicCodeAllocator {
+
+    private static final String SEQUENCE_PREFIX = "topic-code:";
+    // Nhỏ để khi restart chỉ bỏ qua ít số thứ tự
+    private static final int BLOCK_SIZE = 10;
+
+    private final SequenceAllocator sequenceAllocator;
+    private final TopicRepository topicRepository;
+
+    public String nextCode(Semester semester, String majorPrefix) {
+        String prefix = semester.getCode() + "-" + majorPrefix;
+        long sequence = sequenceAllocator.next(SEQUENCE_PREFIX + prefix, BLOCK_SIZE,
+                () -> highestSequence(semester, prefix));
+        return String.format("%s%03d", prefix, sequence);
+    }
+
+    private long highestSequence(Semester semester, String prefix) {
+        long highest = 0;
+        for (String code : topicRepository.findCodesByPrefix(semester, prefix)) {
+            String suffix = code.substring(prefix.length());
+            // Other majors can share the prefix (SE vs SEC), only digits belong to this one
+            if (!suffix.isEmpty() && suffix.chars().allMatch(Character::isDigit)) {
+                highest = Math.max(highest, Long.parseLong(suffix));
+            }
+        }
+        return highest;
+    }
+}
@@ -1,40 +1,54 @@
 package org.example.backend.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.ScreeningResult;
+import org.example.backend.dto.TopicSearchPage;
+import org.example.backend.dto.TopicSearchQuery;
+import org.example.backend.dto.TopicSummary;
 import org.example.backend.entity.*;
 import org.example.backend.enums.TopicStatus;
+import org.example.backend.event.TopicChangedEvent;
+import org.example.backend.exception.TopicVersionChangedException;
+import org.example.backend.repository.ReviewTallyRepository;
 import org.example.backend.repository.TopicRepository;
 import org.example.backend.repository.SemesterRepository;
+import org.example.backend.search.TopicSearchIndex;
+import org.example.backend.search.TopicSignatureStore;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class TopicService {
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
     private final TopicRepository topicRepository;
     private final SemesterRepository semesterRepository;
-
-    /**
-     * Generate unique topic code: [Semester]-[Major][Sequence]
-     * Example: SP26-SE005
-     */
-    private String generateTopicCode(Semester semester, String majorPrefix) {
-        Long count = topicRepository.countByCodePrefix(semester, semester.getCode() + "-" + majorPrefix);
-        return String.format("%s-%s%03d", semester.getCode(), majorPrefix, count + 1);
-    }
+    private final ApplicationEventPublisher eventPublisher;
+    private final TopicSearchIndex topicSearchIndex;
+    private final TopicSignatureStore topicSignatureStore;
+    private final TopicStateMachine topicStateMachine;
+    private final TopicCodeAllocator topicCodeAllocator;
+    private final SemesterAnalyticsService semesterAnalyticsService;
+    private final ReviewTallyRepository reviewTallyRepository;
 
     public Topic create(User supervisor, Long semesterId, String titleEn, String titleVi,
             String description, String requirements, Integer maxTeams, String majorPrefix) {
         Semester semester = semesterRepository.findById(semesterId)
                 .orElseThrow(() -> new RuntimeException("Semester not found"));
 
-        String code = generateTopicCode(semester, majorPrefix);
+        String code = topicCodeAllocator.nextCode(semester, majorPrefix);
 
         Topic topic = Topic.builder()
                 .code(code)
@@ -49,7 +63,11 @@ public class TopicService {
                 .version(1)
                 .build();
 
-        return topicRepository.save(topic);
+        Topic savedTopic = topicRepository.save(topic);
+        topicSearchIndex.indexAfterCommit(savedTopic);
+        eventPublisher.publishEvent(TopicChangedEvent.of(savedTopic));
+        semesterAnalyticsService.topicStatusChanged(semester.getId(), null, TopicStatus.DRAFT);
+        return savedTopic;
     }
 
     public Optional<Topic> findById(Long id) {
@@ -72,6 +90,88 @@ public class TopicService {
         return topicRepository.findByStatus(status);
     }
 
+    /**
+     * Topic lists for the API, each loaded with its supervisor in one query
+     */
+    public List<TopicSummary> getTopicsBySupervisor(User supervisor) {
+        return topicRepository.findWithSupervisorBySupervisor(supervisor).stream().map(TopicSummary::from).toList();
+    }
+
+    public List<TopicSummary> getTopicsBySemester(Semester semester) {
+        return topicRepository.findWithSupervisorBySemester(semester).stream().map(TopicSummary::from).toList();
+    }
+
+    public List<TopicSummary> getTopicsByStatus(TopicStatus status) {
+        return topicRepository.findWithSupervisorByStatus(status).stream().map(TopicSummary::from).toList();
+    }
+
+    /**
+     * Keyset-paginated topic search with optional filters
+     */
+    @Transactional(readOnly = true)
+    public TopicSearchPage search(Long semesterId, TopicStatus status, Long supervisorId, String majorPrefix,
+            TopicSearchQuery.SortField sortBy, boolean ascending, boolean includeDetails,
+            String cursor, int limit) {
+        TopicSearchQuery query = new TopicSearchQuery(semesterId, status, supervisorId,
+                codePattern(semesterId, majorPrefix), sortBy, ascending, includeDetails);
+        int pageSize = Math.max(1, Math.min(limit, MAX_SEARCH_PAGE_SIZE));
+
+        Comparable<?> afterValue = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            afterValue = parseSortValue(sortBy, position.value());
+            afterId = position.id();
+        }
+
+        // Fetch one extra row to know whether there is a next page
+        List<TopicSummary> rows = topicRepository.search(query, afterValue, afterId, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new TopicSearchPage(rows, null);
+        }
+        List<TopicSummary> items = List.copyOf(rows.subList(0, pageSize));
+        TopicSummary last = items.get(pageSize - 1);
+        return new TopicSearchPage(items, new KeysetCursor(sortValue(sortBy, last), last.id()).encode());
+    }
+
+    /**
+     * Topic codes look like SP26-SE005, so a major prefix matches "[semester]-[prefix]..."
+     */
+    private String codePattern(Long semesterId, String majorPrefix) {
+        if (majorPrefix == null || majorPrefix.isBlank()) {
+            return null;
+        }
+        if (!majorPrefix.matches("[A-Za-z]+")) {
+            throw new RuntimeException("Invalid major prefix");
+        }
+        String prefix = majorPrefix.toUpperCase();
+        if (semesterId == null) {
+            return "%-" + prefix + "%";
+        }
+        Semester semester = semesterRepository.findById(semesterId)
+                .orElseThrow(() -> new RuntimeException("Semester not found"));
+        return semester.getCode() + "-" + prefix + "%";
+    }
+
+    private String sortValue(TopicSearchQuery.SortField sortBy, TopicSummary row) {
+        return switch (sortBy) {
+            case CREATED_AT -> row.createdAt().toString();
+            case CODE -> row.code();
+            case TITLE_EN -> row.titleEn();
+        };
+    }
+
+    private Comparable<?> parseSortValue(TopicSearchQuery.SortField sortBy, String value) {
+        if (sortBy != TopicSearchQuery.SortField.CREATED_AT) {
+            return value;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
     public List<Topic> findAvailableForRegistration(Semester semester) {
         return topicRepository.findAvailableForRegistration(semester);
     }
@@ -89,51 +189,107 @@ public class TopicService {
             topic.setMaxTeams(maxTeams);
         }
 
-        return topicRepository.save(topic);
+        Topic savedTopic = topicRepository.save(topic);
+        topicSearchIndex.indexAfterCommit(savedTopic);
+        eventPublisher.publishEvent(TopicChangedEvent.of(topic));
+        return savedTopic;
     }
 
     public Topic submit(Long topicId) {
         Topic topic = topicRepository.findById(topicId)
                 .orElseThrow(() -> new RuntimeException("Topic not found"));
 
-        topic.setStatus(TopicStatus.PROCESSING);
         topic.setSubmittedAt(LocalDateTime.now());
-        return topicRepository.save(topic);
+        Topic savedTopic = topicStateMachine.transition(topic, TopicStatus.PROCESSING);
+        eventPublisher.publishEvent(TopicChangedEvent.of(topic));
+        return savedTopic;
     }
 
     public Topic updateStatus(Long topicId, TopicStatus status) {
         Topic topic = topicRepository.findById(topicId)
                 .orElseThrow(() -> new RuntimeException("Topic not found"));
 
-        topic.setStatus(status);
-
-        if (status == TopicStatus.APPROVED) {
-            topic.setApprovedAt(LocalDateTime.now());
-        } else if (status == TopicStatus.PUBLISHED) {
-            topic.setPublishedAt(LocalDateTime.now());
-        }
-
-        return topicRepository.save(topic);
+        // approvedAt / publishedAt are set by the state machine
+        Topic savedTopic = topicStateMachine.transition(topic, status);
+        eventPublisher.publishEvent(TopicChangedEvent.of(topic));
+        return savedTopic;
     }
 
     public Topic updateAIResults(Long topicId, Boolean compliancePass, String complianceFeedback,
             Double similarityScore, String similarityDetails) {
+        return updateAIResults(topicId, null, compliancePass, complianceFeedback, similarityScore, similarityDetails);
+    }
+
+    /**
+     * Write AI results screened on the given topic version; fails if the topic was resubmitted meanwhile
+     * (topicVersion null: no check)
+     */
+    public Topic updateAIResults(Long topicId, Integer topicVersion, Boolean compliancePass,
+            String complianceFeedback, Double similarityScore, String similarityDetails) {
         Topic topic = topicRepository.findById(topicId)
                 .orElseThrow(() -> new RuntimeException("Topic not found"));
+        if (topicVersion != null && !topicVersion.equals(topic.getVersion())) {
+            throw new TopicVersionChangedException("Topic " + topic.getCode() + " was resubmitted during screening");
+        }
 
+        applyAIResults(topic, compliancePass, complianceFeedback, similarityScore, similarityDetails);
+        Topic savedTopic = topicStateMachine.transition(topic, aiStatus(compliancePass, similarityScore));
+        topicSignatureStore.save(savedTopic);
+        eventPublisher.publishEvent(TopicChangedEvent.of(topic));
+        return savedTopic;
+    }
+
+    /**
+     * Write the results of a batch screening in one transaction; the result columns are
+     * JDBC-batched in one flush, then each topic goes through the state machine
+     */
+    public List<Topic> updateAIResults(List<ScreeningResult> results) {
+        Map<Long, Topic> topics = topicRepository.findAllById(results.stream().map(ScreeningResult::topicId).toList())
+                .stream()
+                .collect(Collectors.toMap(Topic::getId, topic -> topic));
+
+        List<Topic> updated = new ArrayList<>(results.size());
+        List<TopicStatus> statuses = new ArrayList<>(results.size());
+        List<Topic> signed = new ArrayList<>(results.size());
+        List<int[]> signatures = new ArrayList<>(results.size());
+        for (ScreeningResult result : results) {
+            Topic topic = topics.get(result.topicId());
+            if (topic == null) {
+                continue; // Đề tài đã bị xoá trong lúc chấm
+            }
+            applyAIResults(topic, result.compliancePass(), result.complianceFeedback(),
+                    result.similarityScore(), result.similarityDetails());
+            updated.add(topic);
+            statuses.add(aiStatus(result.compliancePass(), result.similarityScore()));
+            if (result.signature() != null) {
+                signed.add(topic);
+                signatures.add(result.signature());
+            }
+        }
+
+        topicRepository.flush();
+        for (int i = 0; i < updated.size(); i++) {
+            topicStateMachine.transition(updated.get(i), statuses.get(i));
+        }
+
+        topicSignatureStore.saveAll(signed, signatures);
+        updated.forEach(topic ->
+                eventPublisher.publishEvent(TopicChangedEvent.of(topic)));
+        return updated;
+    }
+
+    private void applyAIResults(Topic topic, Boolean compliancePass, String complianceFeedback,
+            Double similarityScore, String similarityDetails) {
         topic.setAiCompliancePass(compliancePass);
         topic.setAiComplianceFeedback(complianceFeedback);
         topic.setAiSimilarityScore(similarityScore);
         topic.setAiSimilarityDetails(similarityDetails);
+    }
 
-        // Determine status based on AI results
-        if (compliancePass && (similarityScore == null || similarityScore < 80)) {
-            topic.setStatus(TopicStatus.AI_PASSED);
-        } else {
-            topic.setStatus(TopicStatus.AI_FAILED);
-        }
-
-        return topicRepository.save(topic);
+    // Determine status based on AI results
+    private static TopicStatus aiStatus(Boolean compliancePass, Double similarityScore) {
+        boolean passed = compliancePass && (similarityScore == null || similarityScore < 80);
+        return passed ? TopicStatus.AI_PASSED : TopicStatus.AI_FAILED;
     }
 
     public Topic incrementVersion(Long topicId) {
@@ -141,11 +297,18 @@ public class TopicService {
                 .orElseThrow(() -> new RuntimeException("Topic not found"));
 
         topic.setVersion(topic.getVersion() + 1);
-        topic.setStatus(TopicStatus.PROCESSING);
-        return topicRepository.save(topic);
+        Topic savedTopic = topicStateMachine.transition(topicRepository.save(topic), TopicStatus.PROCESSING);
+        eventPublisher.publishEvent(TopicChangedEvent.of(topic));
+        return savedTopic;
     }
 
     public void delete(Long id) {
-        topicRepository.deleteById(id);
+        topicRepository.findById(id).ifPresent(topic -> {
+            topicSignatureStore.delete(topic.getId());
+            reviewTallyRepository.deleteByTopicId(topic.getId());
+            topicRepository.delete(topic);
+            eventPublisher.publishEvent(TopicChangedEvent.deleted(topic));
+            semesterAnalyticsService.topicStatusChanged(topic.getSemester().getId(), topic.getStatus(), null);
+        });
     }
 }
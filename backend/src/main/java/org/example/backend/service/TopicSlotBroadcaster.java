@@ -0,0 +1,166 @@
+package org.example.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.dto.TopicCatalogEntry;
+import org.example.backend.dto.TopicSlotDelta;
+import org.example.backend.event.TopicChangedEvent;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes live slot availability to students over Server-Sent Events.
+ * Topic changes are collected per semester and flushed once per coalescing window,
+ * so one catalog read is shared by every open connection of that semester.
+ * Writes go out on a separate executor, a slow client never holds up the scheduler.
+ */
+@Service
+@Slf4j
+public class TopicSlotBroadcaster {
+
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+    private static final long HEARTBEAT_INTERVAL_MS = 25 * 1000L;
+
+    private final TopicCatalogCache topicCatalogCache;
+    private final Executor slotStreamExecutor;
+
+    private final ConcurrentMap<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Set<Long>> changedTopics = new ConcurrentHashMap<>();
+    private volatile long lastHeartbeat = System.currentTimeMillis();
+
+    public TopicSlotBroadcaster(TopicCatalogCache topicCatalogCache,
+            @Qualifier("slotStreamExecutor") Executor slotStreamExecutor) {
+        this.topicCatalogCache = topicCatalogCache;
+        this.slotStreamExecutor = slotStreamExecutor;
+    }
+
+    /**
+     * Open a stream for a semester; the current catalog is sent first
+     */
+    public SseEmitter subscribe(Long semesterId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        subscribers.compute(semesterId, (id, emitters) -> {
+            List<SseEmitter> list = emitters != null ? emitters : new CopyOnWriteArrayList<>();
+            list.add(emitter);
+            return list;
+        });
+
+        emitter.onCompletion(() -> unsubscribe(semesterId, emitter));
+        emitter.onTimeout(() -> unsubscribe(semesterId, emitter));
+        emitter.onError(e -> unsubscribe(semesterId, emitter));
+
+        List<TopicSlotDelta> snapshot = topicCatalogCache.getAvailable(semesterId).stream()
+                .map(entry -> new TopicSlotDelta(entry.id(), entry.remainingSlots(), entry.remainingSlots() > 0))
+                .toList();
+        send(semesterId, emitter, "snapshot", payload(semesterId, snapshot));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTopicChanged(TopicChangedEvent event) {
+        if (event.semesterId() == null || !subscribers.containsKey(event.semesterId())) {
+            return;
+        }
+        changedTopics.computeIfAbsent(event.semesterId(), id -> ConcurrentHashMap.newKeySet())
+                .add(event.topicId());
+    }
+
+    /**
+     * Flush coalesced changes to every subscriber of the semester
+     */
+    @Scheduled(fixedDelayString = "${topic.slots.stream.coalesce-ms:500}")
+    public void flush() {
+        for (Long semesterId : changedTopics.keySet()) {
+            Set<Long> topicIds = changedTopics.remove(semesterId);
+            List<SseEmitter> emitters = subscribers.get(semesterId);
+            if (topicIds == null || topicIds.isEmpty() || emitters == null || emitters.isEmpty()) {
+                continue;
+            }
+
+            Map<Long, TopicCatalogEntry> catalog = topicCatalogCache.getAvailable(semesterId).stream()
+                    .collect(Collectors.toMap(TopicCatalogEntry::id, Function.identity()));
+            List<TopicSlotDelta> deltas = new ArrayList<>(topicIds.size());
+            for (Long topicId : topicIds) {
+                TopicCatalogEntry entry = catalog.get(topicId);
+                deltas.add(entry != null
+                        ? new TopicSlotDelta(topicId, entry.remainingSlots(), entry.remainingSlots() > 0)
+                        : new TopicSlotDelta(topicId, 0, false));
+            }
+
+            // Every payload carries the catalog version, clients drop one that arrives after a newer one
+            Map<String, Object> payload = payload(semesterId, deltas);
+            for (SseEmitter emitter : emitters) {
+                sendAsync(semesterId, emitter, "slots", payload);
+            }
+        }
+
+        if (System.currentTimeMillis() - lastHeartbeat >= HEARTBEAT_INTERVAL_MS) {
+            lastHeartbeat = System.currentTimeMillis();
+            heartbeat();
+        }
+    }
+
+    public int countSubscribers(Long semesterId) {
+        List<SseEmitter> emitters = subscribers.get(semesterId);
+        return emitters != null ? emitters.size() : 0;
+    }
+
+    // Comment lines keep proxies from closing idle connections and reveal dead clients
+    private void heartbeat() {
+        subscribers.forEach((semesterId, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                sendAsync(semesterId, emitter, null, null);
+            }
+        });
+    }
+
+    private Map<String, Object> payload(Long semesterId, List<TopicSlotDelta> slots) {
+        return Map.of(
+                "semesterId", semesterId,
+                "version", topicCatalogCache.getVersion(semesterId),
+                "slots", slots);
+    }
+
+    private void sendAsync(Long semesterId, SseEmitter emitter, String name, Object data) {
+        try {
+            slotStreamExecutor.execute(() -> send(semesterId, emitter, name, data));
+        } catch (RejectedExecutionException e) {
+            // Hàng đợi đầy: bỏ lượt này, lần flush sau gửi trạng thái mới hơn
+            log.debug("Slot stream executor is full, skipping {} for semester {}", name, semesterId);
+        }
+    }
+
+    private void send(Long semesterId, SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(name != null
+                    ? SseEmitter.event().name(name).data(data)
+                    : SseEmitter.event().comment("ping"));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping slot stream subscriber: {}", e.getMessage());
+            unsubscribe(semesterId, emitter);
+        }
+    }
+
+    // The semester entry goes away with its last subscriber
+    private void unsubscribe(Long semesterId, SseEmitter emitter) {
+        subscribers.computeIfPresent(semesterId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
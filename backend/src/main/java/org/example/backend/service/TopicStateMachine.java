@@ -0,0 +1,142 @@
+package org.example.backend.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.example.backend.entity.Topic;
+import org.example.backend.enums.TopicStatus;
+import org.example.backend.exception.TopicStateConflictException;
+import org.example.backend.repository.TopicRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import static org.example.backend.enums.TopicStatus.*;
+
+/**
+ * Single place where a topic changes status.
+ * Transitions are checked against the lifecycle table and written with a
+ * compare-and-set UPDATE on (status, lockVersion). When a concurrent change wins,
+ * the current state is read again and the transition retried if it is still
+ * allowed (and the caller's guard still holds), so neither change is silently lost.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional
+public class TopicStateMachine {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Map<TopicStatus, Set<TopicStatus>> TRANSITIONS = new EnumMap<>(TopicStatus.class);
+
+    static {
+        allow(DRAFT, PROCESSING);
+        allow(PROCESSING, AI_PASSED, AI_FAILED);
+        // AI_PASSED → AI_FAILED: reviewer assignment could not be completed after all retries
+        allow(AI_PASSED, PENDING_REVIEW, PROCESSING, AI_FAILED);
+        allow(AI_FAILED, PROCESSING);
+        allow(PENDING_REVIEW, APPROVED, REJECTED, WAITING_COORDINATOR, PROCESSING);
+        allow(WAITING_COORDINATOR, APPROVED, REJECTED, PROCESSING);
+        allow(APPROVED, PUBLISHED, REGISTERED, FINALIZED);
+        allow(REJECTED, PROCESSING);
+        allow(PUBLISHED, REGISTERED, FINALIZED);
+        allow(REGISTERED, PUBLISHED, FINALIZED);
+    }
+
+    private final TopicRepository topicRepository;
+    private final SemesterAnalyticsService semesterAnalyticsService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public static boolean canTransition(TopicStatus from, TopicStatus to) {
+        return from == to || TRANSITIONS.getOrDefault(from, Set.of()).contains(to);
+    }
+
+    /**
+     * Move the topic to the target status. Pending changes of the topic are written
+     * first (checked against its lock version); afterwards the topic reflects the database.
+     */
+    public Topic transition(Topic topic, TopicStatus target) {
+        return transition(topic, target, () -> true);
+    }
+
+    /**
+     * Same as {@link #transition(Topic, TopicStatus)} for a transition that also depends on
+     * other data (e.g. occupied slots). The guard is checked again before each retry;
+     * once it no longer holds the topic keeps its current status.
+     */
+    public Topic transition(Topic topic, TopicStatus target, BooleanSupplier guard) {
+        if (topic.getStatus() == target) {
+            return topic;
+        }
+        if (!canTransition(topic.getStatus(), target)) {
+            throw new RuntimeException("Cannot change topic status from " + topic.getStatus() + " to " + target);
+        }
+
+        // Written by the UPDATE itself, so they also reach the database for a detached topic
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime approvedAt = target == APPROVED ? now : null;
+        LocalDateTime publishedAt = target == PUBLISHED ? now : null;
+        boolean managed = entityManager.contains(topic);
+        if (managed) {
+            entityManager.flush();
+        }
+
+        Long semesterId = topic.getSemester().getId();
+        TopicStatus from = topic.getStatus();
+        Long lockVersion = topic.getLockVersion();
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            if (topicRepository.transitionStatus(topic.getId(), from, target, lockVersion, now,
+                    approvedAt, publishedAt) == 1) {
+                semesterAnalyticsService.topicStatusChanged(semesterId, from, target);
+                if (!managed && approvedAt != null) {
+                    topic.setApprovedAt(approvedAt);
+                } else if (!managed && publishedAt != null) {
+                    topic.setPublishedAt(publishedAt);
+                }
+                return synchronize(topic, managed, target, lockVersion + 1);
+            }
+
+            // Lost against a concurrent change, look at the current state
+            List<Object[]> state = topicRepository.findStateById(topic.getId());
+            if (state.isEmpty()) {
+                throw new RuntimeException("Topic not found");
+            }
+            from = (TopicStatus) state.get(0)[0];
+            lockVersion = (Long) state.get(0)[1];
+            if (from == target) {
+                return synchronize(topic, managed, target, lockVersion); // Đã được chuyển bởi luồng khác
+            }
+            if (!guard.getAsBoolean()) {
+                return synchronize(topic, managed, from, lockVersion);
+            }
+            if (!canTransition(from, target)) {
+                throw new TopicStateConflictException("Topic " + topic.getCode() + " was changed to " + from
+                        + " concurrently, it cannot move to " + target);
+            }
+        }
+        throw new TopicStateConflictException("Topic " + topic.getCode()
+                + " is being changed concurrently, please try again");
+    }
+
+    private Topic synchronize(Topic topic, boolean managed, TopicStatus status, Long lockVersion) {
+        if (managed) {
+            entityManager.refresh(topic);
+        } else {
+            topic.setStatus(status);
+            topic.setLockVersion(lockVersion);
+        }
+        return topic;
+    }
+
+    private static void allow(TopicStatus from, TopicStatus... to) {
+        TRANSITIONS.put(from, EnumSet.copyOf(List.of(to)));
+    }
+}
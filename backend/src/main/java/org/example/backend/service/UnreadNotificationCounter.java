@@ -0,0 +1,94 @@
+package org.example.backend.service;
+
+import org.example.backend.repository.NotificationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-user unread notification counts, cached after the first read.
+ * Write paths evict the user's count once their transaction commits instead of
+ * applying a delta, so a count loaded concurrently with a commit can never be
+ * adjusted twice; the next read counts again. A load is only kept if no eviction
+ * happened meanwhile (checked with a version per user stripe). Counts expire after
+ * a TTL, and the least recently read users are dropped beyond max-users.
+ */
+@Component
+public class UnreadNotificationCounter {
+
+    private static final int VERSION_STRIPES = 1024;
+
+    private final NotificationRepository notificationRepository;
+    private final Map<Long, Counter> counters;
+    // Bumped by every eviction of a user's count
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    @Value("${notification.unread-counter.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    public UnreadNotificationCounter(NotificationRepository notificationRepository,
+            @Value("${notification.unread-counter.max-users:50000}") int maxUsers) {
+        this.notificationRepository = notificationRepository;
+        this.counters = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Counter> eldest) {
+                return size() > maxUsers;
+            }
+        };
+    }
+
+    public long get(Long userId) {
+        Counter counter;
+        synchronized (counters) {
+            counter = counters.get(userId);
+        }
+        if (counter != null && System.currentTimeMillis() - counter.loadedAt() < ttlSeconds * 1000) {
+            return counter.value();
+        }
+        int stripe = stripe(userId);
+        long version = versions.get(stripe);
+        long unread = notificationRepository.countByUser_IdAndIsReadFalse(userId);
+        // A change that committed while we were counting may or may not be in the result, so don't keep it
+        synchronized (counters) {
+            if (versions.get(stripe) == version) {
+                counters.put(userId, new Counter(unread, System.currentTimeMillis()));
+            }
+        }
+        return unread;
+    }
+
+    /**
+     * The user's notifications change in the current transaction, recount once it has committed
+     */
+    public void evictAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(userId);
+            }
+        });
+    }
+
+    public void evict(Long userId) {
+        synchronized (counters) {
+            versions.incrementAndGet(stripe(userId));
+            counters.remove(userId);
+        }
+    }
+
+    private static int stripe(Long userId) {
+        return Math.floorMod(userId.hashCode(), VERSION_STRIPES);
+    }
+
+    private record Counter(long value, long loadedAt) {
+    }
+}
@@ -0,0 +1,163 @@
+package org.example.backend.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LLM reviewer against a local stub of the chat completions endpoint
+ */
+class LlmComplianceReviewerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger calls = new AtomicInteger();
+    private volatile int failStatus;
+    private volatile long delayMillis;
+
+    private HttpServer server;
+    private LlmComplianceReviewer reviewer;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/chat/completions", this::answer);
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        if (reviewer != null) {
+            reviewer.shutdown();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void batchesSeveralTopicsIntoOneRequest() throws Exception {
+        reviewer = reviewer(3, 1000);
+
+        CompletableFuture<Optional<LlmVerdict>> first = reviewer.review(request("Smart parking system"));
+        CompletableFuture<Optional<LlmVerdict>> second = reviewer.review(request("FAIL vague idea"));
+        CompletableFuture<Optional<LlmVerdict>> third = reviewer.review(request("Library management app"));
+
+        assertTrue(first.get(5, TimeUnit.SECONDS).orElseThrow().passed());
+        assertFalse(second.get(5, TimeUnit.SECONDS).orElseThrow().passed());
+        assertTrue(third.get(5, TimeUnit.SECONDS).orElseThrow().passed());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void coalescesIdenticalContent() throws Exception {
+        reviewer = reviewer(5, 100);
+
+        CompletableFuture<Optional<LlmVerdict>> first = reviewer.review(request("Smart parking system"));
+        CompletableFuture<Optional<LlmVerdict>> duplicate = reviewer.review(request("Smart parking system"));
+
+        assertSame(first, duplicate);
+        assertTrue(first.get(5, TimeUnit.SECONDS).isPresent());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void timeoutCompletesEmpty() throws Exception {
+        delayMillis = 2000;
+        reviewer = new LlmComplianceReviewer(client(), objectMapper, true, 1, 0, 200, 60000, 200, 5, 60000);
+
+        assertTrue(reviewer.review(request("Smart parking system")).get(5, TimeUnit.SECONDS).isEmpty());
+    }
+
+    @Test
+    void opensCircuitAfterRepeatedFailures() throws Exception {
+        failStatus = 500;
+        reviewer = reviewer(1, 0);
+
+        for (String title : List.of("Topic one", "Topic two", "Topic three")) {
+            assertTrue(reviewer.review(request(title)).get(5, TimeUnit.SECONDS).isEmpty());
+        }
+        assertEquals(CircuitBreaker.State.OPEN, reviewer.getCircuitBreaker().getState());
+
+        // While open, requests are answered locally without calling the model
+        assertTrue(reviewer.review(request("Topic four")).get(5, TimeUnit.SECONDS).isEmpty());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void disabledReviewerNeverCallsTheModel() throws Exception {
+        reviewer = new LlmComplianceReviewer(client(), objectMapper, false, 1, 0, 1000, 60000, 200, 3, 60000);
+
+        assertTrue(reviewer.review(request("Smart parking system")).get(1, TimeUnit.SECONDS).isEmpty());
+        assertEquals(0, calls.get());
+    }
+
+    private LlmComplianceReviewer reviewer(int batchSize, long lingerMillis) {
+        return new LlmComplianceReviewer(client(), objectMapper, true, batchSize, lingerMillis, 5000, 60000, 200, 3,
+                60000);
+    }
+
+    private OpenAiLlmClient client() {
+        return new OpenAiLlmClient(objectMapper, "http://127.0.0.1:" + server.getAddress().getPort() + "/v1",
+                "test-key", "stub-model", 5000);
+    }
+
+    private static LlmReviewRequest request(String title) {
+        return new LlmReviewRequest(title, title + " (vi)", "Description of " + title, "Java, Spring Boot");
+    }
+
+    /**
+     * Stub model: every topic passes unless its English title starts with FAIL
+     */
+    private void answer(HttpExchange exchange) throws IOException {
+        calls.incrementAndGet();
+        try {
+            if (delayMillis > 0) {
+                Thread.sleep(delayMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failStatus != 0) {
+            exchange.sendResponseHeaders(failStatus, -1);
+            exchange.close();
+            return;
+        }
+
+        JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+        JsonNode topics = objectMapper.readTree(body.path("messages").path(1).path("content").asText()).path("topics");
+        ArrayNode results = objectMapper.createArrayNode();
+        for (JsonNode topic : topics) {
+            boolean passed = !topic.path("titleEn").asText().startsWith("FAIL");
+            results.addObject()
+                    .put("id", topic.path("id").asInt())
+                    .put("passed", passed)
+                    .put("feedback", passed ? "" : "The scope of the topic is unclear.");
+        }
+        ObjectNode content = objectMapper.createObjectNode().set("results", results);
+        ObjectNode response = objectMapper.createObjectNode();
+        response.putArray("choices").addObject().putObject("message")
+                .put("role", "assistant")
+                .put("content", content.toString());
+
+        byte[] bytes = response.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
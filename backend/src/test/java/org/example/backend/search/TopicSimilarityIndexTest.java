@@ -0,0 +1,94 @@
+package org.example.backend.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Band layout recall and candidate counts, on synthetic signatures with a known overlap
+ */
+class TopicSimilarityIndexTest {
+
+    private static final double REPORT_THRESHOLD = 30.0;
+
+    private final Random random = new Random(42);
+    private TopicSimilarityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TopicSimilarityIndex();
+    }
+
+    @Test
+    void findsTopicsWellAboveTheReportThreshold() {
+        int queries = 200;
+        int[][] queriesById = new int[queries][];
+        for (int id = 0; id < queries; id++) {
+            int[] archived = randomSignature();
+            index.put((long) id, "T" + id, archived);
+            queriesById[id] = overlapping(archived, 0.45);
+        }
+
+        int found = 0;
+        for (int id = 0; id < queries; id++) {
+            List<SimilarTopic> similar = index.findSimilar(-1L, queriesById[id], REPORT_THRESHOLD, 5);
+            if (!similar.isEmpty() && similar.get(0).topicId() == id) {
+                found++;
+            }
+        }
+        // 1 - (1 - 0.45^3)^42 ~ 98%
+        assertTrue(found >= queries * 0.95, "found " + found + " of " + queries);
+    }
+
+    @Test
+    void keepsLowSimilarityTopicsOutOfTheCandidates() {
+        int[] query = randomSignature();
+        int archive = 1000;
+        for (int id = 0; id < archive; id++) {
+            index.put((long) id, "T" + id, overlapping(query, 0.15));
+        }
+        index.put(5000L, "DUP", overlapping(query, 0.5));
+
+        // 1 - (1 - 0.15^3)^42 ~ 13% of the archive; 64 bands x 2 rows let ~77% through
+        int candidates = index.candidateCount(query);
+        assertTrue(candidates < archive / 4, "candidates " + candidates);
+
+        List<SimilarTopic> similar = index.findSimilar(-1L, query, REPORT_THRESHOLD, 5);
+        assertEquals(1, similar.size());
+        assertEquals(5000L, similar.get(0).topicId());
+    }
+
+    @Test
+    void removedTopicsLeaveTheirBuckets() {
+        int[] signature = randomSignature();
+        index.put(1L, "A", signature);
+        index.put(2L, "B", signature);
+        index.remove(1L);
+
+        assertEquals(1, index.candidateCount(signature));
+        assertEquals(2L, index.findSimilar(-1L, signature, REPORT_THRESHOLD, 5).get(0).topicId());
+    }
+
+    private int[] randomSignature() {
+        int[] signature = new int[MinHasher.SIGNATURE_LENGTH];
+        for (int i = 0; i < signature.length; i++) {
+            signature[i] = random.nextInt();
+        }
+        return signature;
+    }
+
+    // Same value as the source at a random share of positions, a fresh value elsewhere
+    private int[] overlapping(int[] source, double share) {
+        int[] signature = randomSignature();
+        int shared = (int) Math.round(share * signature.length);
+        int[] positions = random.ints(0, signature.length).distinct().limit(shared).toArray();
+        for (int position : positions) {
+            signature[position] = source[position];
+        }
+        return signature;
+    }
+}
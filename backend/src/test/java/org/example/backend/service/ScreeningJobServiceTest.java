@@ -0,0 +1,125 @@
+package org.example.backend.service;
+
+import org.example.backend.entity.ScreeningJob;
+import org.example.backend.entity.Semester;
+import org.example.backend.entity.Topic;
+import org.example.backend.enums.ScreeningJobStatus;
+import org.example.backend.enums.TopicStatus;
+import org.example.backend.exception.TopicVersionChangedException;
+import org.example.backend.repository.ScreeningJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Resubmitting a topic while its screening job is running, against mocked collaborators
+ */
+class ScreeningJobServiceTest {
+
+    private static final List<ScreeningJobStatus> PENDING = List.of(ScreeningJobStatus.PENDING);
+
+    private final ScreeningJobRepository screeningJobRepository = mock(ScreeningJobRepository.class);
+    private final TopicService topicService = mock(TopicService.class);
+    private final AIService aiService = mock(AIService.class);
+    private ScreeningJobService screeningJobService;
+
+    @BeforeEach
+    void setUp() {
+        screeningJobService = new ScreeningJobService(screeningJobRepository, topicService, aiService,
+                Runnable::run, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(screeningJobService, "concurrency", 4);
+        ReflectionTestUtils.setField(screeningJobService, "maxBacklog", 500);
+        ReflectionTestUtils.setField(screeningJobService, "maxAttempts", 5);
+        ReflectionTestUtils.setField(screeningJobService, "retryBaseSeconds", 30L);
+        when(aiService.prefetchLlmReview(any())).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    void resubmitQueuesANewJobWhileTheOldVersionIsRunning() {
+        when(topicService.incrementVersion(1L)).thenReturn(topic(2));
+        when(screeningJobRepository.findFirstByTopicIdAndStatusIn(1L, PENDING)).thenReturn(Optional.empty());
+
+        screeningJobService.resubmit(1L);
+
+        verify(screeningJobRepository).save(argThat(job -> job.getTopicVersion() == 2
+                && job.getStatus() == ScreeningJobStatus.PENDING));
+    }
+
+    @Test
+    void cancelsTheRunningJobWhenTheNewVersionHasItsOwnJob() {
+        ScreeningJob job = runningJob(1);
+        startJob(job, topic(2));
+        when(screeningJobRepository.findFirstByTopicIdAndStatusIn(1L, PENDING))
+                .thenReturn(Optional.of(ScreeningJob.builder().id(6L).topicId(1L).topicVersion(2).build()));
+
+        screeningJobService.dispatch();
+
+        verify(aiService).processTopic(1L, 1);
+        assertEquals(ScreeningJobStatus.CANCELLED, job.getStatus());
+        assertEquals(1, job.getTopicVersion());
+    }
+
+    @Test
+    void requeuesTheRunningJobForTheNewVersionOtherwise() {
+        ScreeningJob job = runningJob(1);
+        startJob(job, topic(2));
+        when(screeningJobRepository.findFirstByTopicIdAndStatusIn(1L, PENDING)).thenReturn(Optional.empty());
+
+        screeningJobService.dispatch();
+
+        assertEquals(ScreeningJobStatus.PENDING, job.getStatus());
+        assertEquals(2, job.getTopicVersion());
+        assertNotNull(job.getNextAttemptAt());
+        assertNull(job.getFinishedAt());
+    }
+
+    @Test
+    void finishesAJobOfTheCurrentVersion() {
+        ScreeningJob job = runningJob(2);
+        startJob(job, topic(2));
+        when(aiService.processTopic(1L, 2)).thenReturn(topic(2));
+
+        screeningJobService.dispatch();
+
+        assertEquals(ScreeningJobStatus.SUCCEEDED, job.getStatus());
+    }
+
+    private void startJob(ScreeningJob job, Topic topic) {
+        when(screeningJobRepository.findDueJobIds(any(), any())).thenReturn(List.of(job.getId()), List.of());
+        when(screeningJobRepository.claim(eq(job.getId()), any())).thenReturn(1);
+        when(screeningJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        when(topicService.findById(1L)).thenReturn(Optional.of(topic));
+        when(aiService.processTopic(1L, 1)).thenThrow(new TopicVersionChangedException("Topic was resubmitted"));
+    }
+
+    private static ScreeningJob runningJob(int topicVersion) {
+        return ScreeningJob.builder()
+                .id(5L)
+                .topicId(1L)
+                .topicVersion(topicVersion)
+                .status(ScreeningJobStatus.RUNNING)
+                .attempts(1)
+                .build();
+    }
+
+    private static Topic topic(int version) {
+        return Topic.builder()
+                .id(1L)
+                .code("SP26-SE001")
+                .version(version)
+                .status(TopicStatus.PROCESSING)
+                .semester(Semester.builder().id(10L).build())
+                .build();
+    }
+}
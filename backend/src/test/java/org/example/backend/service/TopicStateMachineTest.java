@@ -0,0 +1,179 @@
+package org.example.backend.service;
+
+import jakarta.persistence.EntityManager;
+import org.example.backend.entity.Semester;
+import org.example.backend.entity.Topic;
+import org.example.backend.enums.TopicStatus;
+import org.example.backend.exception.TopicStateConflictException;
+import org.example.backend.repository.TopicRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.example.backend.enums.TopicStatus.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Lifecycle table and compare-and-set retries, against a mocked repository
+ */
+class TopicStateMachineTest {
+
+    private final TopicRepository topicRepository = mock(TopicRepository.class);
+    private final SemesterAnalyticsService semesterAnalyticsService = mock(SemesterAnalyticsService.class);
+    private TopicStateMachine stateMachine;
+
+    @BeforeEach
+    void setUp() {
+        stateMachine = new TopicStateMachine(topicRepository, semesterAnalyticsService);
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.contains(any())).thenReturn(false);
+        ReflectionTestUtils.setField(stateMachine, "entityManager", entityManager);
+    }
+
+    @Test
+    void allowsOnlyTransitionsOfTheLifecycle() {
+        assertTrue(TopicStateMachine.canTransition(DRAFT, PROCESSING));
+        assertTrue(TopicStateMachine.canTransition(PROCESSING, AI_PASSED));
+        assertTrue(TopicStateMachine.canTransition(AI_PASSED, AI_FAILED));
+        assertTrue(TopicStateMachine.canTransition(PENDING_REVIEW, WAITING_COORDINATOR));
+        assertTrue(TopicStateMachine.canTransition(PUBLISHED, REGISTERED));
+        assertTrue(TopicStateMachine.canTransition(REGISTERED, PUBLISHED));
+        assertTrue(TopicStateMachine.canTransition(APPROVED, APPROVED));
+
+        assertFalse(TopicStateMachine.canTransition(DRAFT, APPROVED));
+        assertFalse(TopicStateMachine.canTransition(PROCESSING, PUBLISHED));
+        assertFalse(TopicStateMachine.canTransition(APPROVED, REJECTED));
+        assertFalse(TopicStateMachine.canTransition(FINALIZED, PUBLISHED));
+        assertFalse(TopicStateMachine.canTransition(REJECTED, APPROVED));
+    }
+
+    @Test
+    void finalizedIsTerminal() {
+        for (TopicStatus target : TopicStatus.values()) {
+            assertEquals(target == FINALIZED, TopicStateMachine.canTransition(FINALIZED, target), target.name());
+        }
+    }
+
+    @Test
+    void rejectsATransitionOutsideTheTable() {
+        Topic topic = topic(DRAFT, 3L);
+
+        assertThrows(RuntimeException.class, () -> stateMachine.transition(topic, APPROVED));
+
+        verify(topicRepository, never()).transitionStatus(anyLong(), any(), any(), anyLong(), any(), any(), any());
+        assertEquals(DRAFT, topic.getStatus());
+    }
+
+    @Test
+    void writesTheStatusWithTheReadLockVersion() {
+        Topic topic = topic(PUBLISHED, 3L);
+        when(topicRepository.transitionStatus(eq(1L), eq(PUBLISHED), eq(REGISTERED), eq(3L),
+                any(), any(), any())).thenReturn(1);
+
+        stateMachine.transition(topic, REGISTERED);
+
+        assertEquals(REGISTERED, topic.getStatus());
+        assertEquals(4L, topic.getLockVersion());
+        verify(semesterAnalyticsService).topicStatusChanged(10L, PUBLISHED, REGISTERED);
+    }
+
+    @Test
+    void writesTheApprovalTimeWithTheStatusForADetachedTopic() {
+        Topic topic = topic(WAITING_COORDINATOR, 3L);
+        when(topicRepository.transitionStatus(eq(1L), eq(WAITING_COORDINATOR), eq(APPROVED), eq(3L), any(),
+                argThat(Objects::nonNull), isNull())).thenReturn(1);
+
+        stateMachine.transition(topic, APPROVED);
+
+        assertEquals(APPROVED, topic.getStatus());
+        assertNotNull(topic.getApprovedAt());
+        assertNull(topic.getPublishedAt());
+    }
+
+    @Test
+    void retriesFromTheCurrentStateAfterLosingTheCompareAndSet() {
+        Topic topic = topic(PENDING_REVIEW, 3L);
+        when(topicRepository.transitionStatus(eq(1L), eq(PENDING_REVIEW), eq(APPROVED), eq(3L),
+                any(), any(), any())).thenReturn(0);
+        when(topicRepository.findStateById(1L)).thenReturn(state(WAITING_COORDINATOR, 4L));
+        when(topicRepository.transitionStatus(eq(1L), eq(WAITING_COORDINATOR), eq(APPROVED), eq(4L),
+                any(), any(), any())).thenReturn(1);
+
+        stateMachine.transition(topic, APPROVED);
+
+        assertEquals(APPROVED, topic.getStatus());
+        assertEquals(5L, topic.getLockVersion());
+        verify(semesterAnalyticsService).topicStatusChanged(10L, WAITING_COORDINATOR, APPROVED);
+    }
+
+    @Test
+    void keepsTheConcurrentChangeWhenItReachedTheTarget() {
+        Topic topic = topic(PUBLISHED, 3L);
+        when(topicRepository.transitionStatus(anyLong(), any(), any(), anyLong(), any(), any(), any())).thenReturn(0);
+        when(topicRepository.findStateById(1L)).thenReturn(state(REGISTERED, 4L));
+
+        stateMachine.transition(topic, REGISTERED);
+
+        assertEquals(REGISTERED, topic.getStatus());
+        assertEquals(4L, topic.getLockVersion());
+        verify(topicRepository, times(1)).transitionStatus(anyLong(), any(), any(), anyLong(), any(), any(), any());
+        verifyNoInteractions(semesterAnalyticsService);
+    }
+
+    @Test
+    void failsWhenTheConcurrentChangeForbidsTheTarget() {
+        Topic topic = topic(PENDING_REVIEW, 3L);
+        when(topicRepository.transitionStatus(anyLong(), any(), any(), anyLong(), any(), any(), any())).thenReturn(0);
+        when(topicRepository.findStateById(1L)).thenReturn(state(APPROVED, 4L));
+
+        assertThrows(TopicStateConflictException.class, () -> stateMachine.transition(topic, REJECTED));
+    }
+
+    @Test
+    void givesUpAfterRepeatedConflicts() {
+        Topic topic = topic(PUBLISHED, 3L);
+        when(topicRepository.transitionStatus(anyLong(), any(), any(), anyLong(), any(), any(), any())).thenReturn(0);
+        when(topicRepository.findStateById(1L)).thenReturn(state(PUBLISHED, 4L));
+
+        assertThrows(TopicStateConflictException.class, () -> stateMachine.transition(topic, REGISTERED));
+    }
+
+    @Test
+    void dropsTheTransitionWhenTheGuardNoLongerHolds() {
+        Topic topic = topic(PUBLISHED, 3L);
+        when(topicRepository.transitionStatus(anyLong(), any(), any(), anyLong(), any(), any(), any())).thenReturn(0);
+        when(topicRepository.findStateById(1L)).thenReturn(state(PUBLISHED, 4L));
+
+        stateMachine.transition(topic, REGISTERED, () -> false);
+
+        assertEquals(PUBLISHED, topic.getStatus());
+        assertEquals(4L, topic.getLockVersion());
+        verify(topicRepository, times(1)).transitionStatus(anyLong(), any(), any(), anyLong(), any(), any(), any());
+    }
+
+    private static Topic topic(TopicStatus status, Long lockVersion) {
+        return Topic.builder()
+                .id(1L)
+                .code("SP26-SE001")
+                .status(status)
+                .lockVersion(lockVersion)
+                .semester(Semester.builder().id(10L).build())
+                .build();
+    }
+
+    private static List<Object[]> state(TopicStatus status, Long lockVersion) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{status, lockVersion});
+        return rows;
+    }
+}